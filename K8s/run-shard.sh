@@ -0,0 +1,31 @@
+#!/usr/bin/env bash
+# Entry point of one pod of a sharded (Indexed) Job.
+# Runs this pod's slice of the suite, copies its results to the shared volume, and on shard 0 waits for all
+# shards and merges them into $RESULTS_ROOT/$RUN_ID/merged (the Allure results + metrics of the whole run).
+set -uo pipefail
+
+RESULTS_ROOT="${RESULTS_ROOT:-/results}"
+RUN_DIR="$RESULTS_ROOT/${RUN_ID:?RUN_ID must be set (e.g. the job name)}"
+SHARD="${SHARD_INDEX:-${JOB_COMPLETION_INDEX:-0}}"
+SHARD_DIR="$RUN_DIR/shard-$SHARD"
+MERGE_TIMEOUT_SEC="${MERGE_TIMEOUT_SEC:-1800}"
+export SHARD_TIMINGS="${SHARD_TIMINGS:-$RESULTS_ROOT/shard-timings.json}"
+
+mkdir -p "$SHARD_DIR"
+mvn -ntp -P"${ENV_PROFILE}" -Denv="${ENV_PROFILE}" verify
+status=$?
+
+cp -r target/allure-results "$SHARD_DIR/" 2>/dev/null || true
+cp -r target/metrics "$SHARD_DIR/" 2>/dev/null || true
+touch "$SHARD_DIR/.done"
+
+if [ "$SHARD" = "0" ]; then
+  deadline=$((SECONDS + MERGE_TIMEOUT_SEC))
+  while [ "$(ls "$RUN_DIR"/shard-*/.done 2>/dev/null | wc -l)" -lt "${SHARD_COUNT:-1}" ] && [ $SECONDS -lt $deadline ]; do
+    sleep 10
+  done
+  shard_dirs=$(ls -d "$RUN_DIR"/shard-* | tr '\n' ' ')
+  mvn -ntp -q exec:java -Dexec.mainClass=utils.sharding.ShardMerger -Dexec.args="$RUN_DIR/merged $shard_dirs" \
+    && cp "$RUN_DIR/merged/metrics/shard-timings.json" "$SHARD_TIMINGS"
+fi
+exit $status
@@ -0,0 +1,43 @@
+package benchmarks;
+
+import api.builder.pet.PetBuilder;
+import api.builder.user.UserBuilder;
+import api.pojo.pet.Category;
+import api.pojo.pet.Tag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.helpers.JsonHelper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Request body path used by the steps: builder -> POJO -> JSON string. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BuilderSerializationBenchmark {
+
+    private final Category category = Category.builder().id(1L).name("dogs").build();
+    private final List<Tag> tags = List.of(Tag.builder().id(1L).name("friendly").build());
+    private final List<String> photoUrls = List.of("https://example.com/42.png");
+
+    @Benchmark
+    public String petToJson() {
+        return JsonHelper.toJson(PetBuilder.buildNewPet(42L, category, "Rex", photoUrls, tags, "available"));
+    }
+
+    @Benchmark
+    public String userToJson() {
+        return JsonHelper.toJson(UserBuilder.buildNewUser("Jane", "Doe", "jane.doe@example.com", "engineer"));
+    }
+}
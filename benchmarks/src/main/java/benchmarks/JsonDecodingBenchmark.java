@@ -0,0 +1,69 @@
+package benchmarks;
+
+import api.pojo.pet.Pet;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.helpers.JsonHelper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Tree parsing (what the JsonNode-based steps do) versus typed decoding through the cached readers. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonDecodingBenchmark {
+
+    private static final String PET_JSON = "{\"id\":%d,\"category\":{\"id\":1,\"name\":\"dogs\"},\"name\":\"Rex\","
+            + "\"photoUrls\":[\"https://example.com/%d.png\"],\"tags\":[{\"id\":1,\"name\":\"friendly\"}],\"status\":\"available\"}";
+    private static final int PETS_IN_LIST = 500;
+    private static final TypeReference<List<Pet>> PET_LIST = new TypeReference<>() { };
+
+    private String petJson;
+    private String petListJson;
+
+    @Setup
+    public void setUp() {
+        petJson = String.format(PET_JSON, 1, 1);
+        StringBuilder builder = new StringBuilder("[");
+        for (int index = 0; index < PETS_IN_LIST; index++) {
+            if (index > 0) builder.append(',');
+            builder.append(String.format(PET_JSON, index, index));
+        }
+        petListJson = builder.append(']').toString();
+    }
+
+    @Benchmark
+    public Long parseTreeAndReadId() {
+        JsonNode json = JsonHelper.parse(petJson);
+        return JsonHelper.getLong(json, "id");
+    }
+
+    @Benchmark
+    public Long readPetAndGetId() {
+        return JsonHelper.read(petJson, Pet.class).getId();
+    }
+
+    @Benchmark
+    public JsonNode parsePetListTree() {
+        return JsonHelper.parse(petListJson);
+    }
+
+    @Benchmark
+    public List<Pet> readPetList() {
+        return JsonHelper.read(petListJson, PET_LIST);
+    }
+}
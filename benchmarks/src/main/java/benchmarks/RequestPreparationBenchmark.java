@@ -0,0 +1,52 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.enums.ApiPath;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request path expansion, done before anything hits the wire (the client formats every path through the
+ * ApiPath template). Header merging has no public entry point; it is part of {@link RoundTripBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestPreparationBenchmark {
+
+    private String petId;
+    private String username;
+
+    @Setup
+    public void setUp() {
+        petId = String.valueOf(Long.MAX_VALUE);
+        username = "Senior QA Engineer/Lead";
+    }
+
+    @Benchmark
+    public String formatPathWithoutParams() {
+        return ApiPath.PET.template().expand();
+    }
+
+    @Benchmark
+    public String formatPathWithParam() {
+        return ApiPath.PET_ID.template().expand(petId);
+    }
+
+    @Benchmark
+    public String formatPathWithEncodedParam() {
+        return ApiPath.USER_USERNAME.template().expand(username);
+    }
+}
@@ -0,0 +1,73 @@
+package benchmarks;
+
+import api.pojo.pet.Pet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.enums.ApiPath;
+import utils.enums.SystemVar;
+import utils.request.http.JsonHttpClient;
+import utils.stub.PetstoreStub;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full request/response cycle (spec, pool, retry loop, observers, masking, decoding) against the
+ * in-process Petstore stub on loopback, so the numbers are about the client and not the network.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoundTripBenchmark {
+
+    private static final String PET_JSON = "{\"id\":42,\"category\":{\"id\":1,\"name\":\"dogs\"},\"name\":\"Rex\","
+            + "\"photoUrls\":[\"https://example.com/42.png\"],\"tags\":[{\"id\":1,\"name\":\"friendly\"}],\"status\":\"available\"}";
+    private static final String PET_ID = "42";
+
+    private PetstoreStub stub;
+    private JsonHttpClient client;
+
+    @Setup(Level.Trial)
+    public void startServer() throws IOException {
+        stub = PetstoreStub.start(0);
+
+        // Config is read when the client is built, so point it at the stub first
+        System.setProperty(SystemVar.BASE_URL.getEnvKey(), stub.baseUrl());
+        System.setProperty(SystemVar.API_CONSOLE_LOG.getEnvKey(), "false");
+        client = new JsonHttpClient();
+        client.postRequest(null, PET_JSON, ApiPath.PET);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        stub.close();
+    }
+
+    @Benchmark
+    public String getAsString() {
+        return client.getRequest(null, ApiPath.PET_ID, PET_ID);
+    }
+
+    @Benchmark
+    public Pet getAsPet() {
+        return client.getRequest(null, ApiPath.PET_ID, Pet.class, PET_ID);
+    }
+
+    @Benchmark
+    public String getAsync() {
+        return client.getAsync(null, ApiPath.PET_ID, PET_ID).join();
+    }
+}
@@ -0,0 +1,198 @@
+package api.fixtures;
+
+import api.builder.pet.PetBuilder;
+import api.builder.user.UserBuilder;
+import api.pojo.dto.store.OrderDto;
+import api.pojo.pet.Category;
+import api.pojo.pet.Pet;
+import api.pojo.user.User;
+import api.steps.UserBatch;
+import config.Config;
+import io.qameta.allure.Step;
+import io.restassured.response.Response;
+import utils.AllureUtils;
+import utils.constants.TestData;
+import utils.enums.ApiPath;
+import utils.enums.HttpStatusCode;
+import utils.enums.OrderStatus;
+import utils.enums.PetStatus;
+import utils.helpers.TestDataSource;
+import utils.request.http.HttpRequest;
+import utils.request.path.IPath;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Creates test data (pets, orders, users) in parallel before a class or suite and deletes all of it in
+ * parallel afterwards. At most API_FIXTURE_PARALLELISM requests run at once (virtual threads, so the
+ * Allure context of the caller is inherited). Every fixture is tracked before its create request is sent,
+ * so {@link #tearDown()} also removes ones whose create failed half-way; a 404 on delete counts as removed.
+ * Ids and names come from a {@link TestDataSource} for the owner's scope, so they repeat run to run under a
+ * cassette. Thread-safe; {@link #suite()} is the instance torn down by BaseApiTest at suite end.
+ */
+public final class FixtureService {
+
+    private static final FixtureService SUITE = new FixtureService("suite");
+
+    private final HttpRequest httpRequest = new HttpRequest();
+    /** Drawn from in the caller's loop, before the fan-out, so a seeded source yields the same data every run. */
+    private final TestDataSource data;
+    private final Semaphore slots = new Semaphore(Math.max(1, Config.fixtureParallelism()));
+    private final Queue<Fixture> created = new ConcurrentLinkedQueue<>();
+
+    /** {@code owner} names whose data this is (the test class), see {@link TestDataSource#forScope}. */
+    public FixtureService(String owner) {
+        this.data = TestDataSource.forScope("fixtures " + owner);
+    }
+
+    public static FixtureService suite() { return SUITE; }
+
+    @Step("PROVISION pets in parallel")
+    public List<Pet> pets(int count, PetStatus status) {
+        Category category = Category.builder().id(TestData.DEFAULT_CATEGORY_ID).name(TestData.DEFAULT_CATEGORY_NAME).build();
+        List<Callable<Pet>> calls = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            long petId = data.nextId();
+            Pet pet = PetBuilder.buildNewPet(petId, category, data.faker().dog().name(),
+                    List.of(TestData.DEFAULT_PHOTO_BASE + petId), List.of(), status.name());
+            calls.add(() -> {
+                track("pet", ApiPath.PET_ID, String.valueOf(petId));
+                return httpRequest.postRequest(null, pet, ApiPath.PET, Pet.class);
+            });
+        }
+        return fanOut("pets", calls);
+    }
+
+    @Step("PROVISION orders in parallel")
+    public List<OrderDto> orders(int count, long petId) {
+        List<Callable<OrderDto>> calls = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            long orderId = data.nextId();
+            OrderDto order = new OrderDto(orderId, petId, TestData.DEFAULT_MIN_QTY,
+                    data.now().toString(), OrderStatus.placed.name(), true);
+            calls.add(() -> {
+                track("order", ApiPath.STORE_ORDER_ID, String.valueOf(orderId));
+                return httpRequest.postRequest(null, order, ApiPath.STORE_ORDER, OrderDto.class);
+            });
+        }
+        return fanOut("orders", calls);
+    }
+
+    /** Users go through {@link UserBatch} (one createWithList call per chunk), which beats per-user fan-out. */
+    @Step("PROVISION users in bulk")
+    public List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            String username = "fixture_" + data.nextId();
+            users.add(UserBuilder.buildNewUser(data.faker().name().firstName(), data.faker().name().lastName(),
+                    data.faker().internet().emailAddress(), username));
+            track("user", ApiPath.USER_USERNAME, username);
+        }
+        UserBatch.Result result = UserBatch.create().addAll(users).flush();
+        if (!result.isComplete()) {
+            throw new IllegalStateException("Failed to provision users: " + result.summary());
+        }
+        return users;
+    }
+
+    public int size() { return created.size(); }
+
+    /**
+     * Deletes every tracked fixture in parallel. Returns the ones that could not be deleted (also attached to
+     * the report); they stay tracked, so a later tearDown retries them.
+     */
+    @Step("TEAR DOWN fixtures in parallel")
+    public List<String> tearDown() {
+        List<Fixture> fixtures = new ArrayList<>();
+        for (Fixture fixture; (fixture = created.poll()) != null; ) fixtures.add(fixture);
+
+        List<Future<String>> deletes = new ArrayList<>(fixtures.size());
+        List<String> leaked = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Fixture fixture : fixtures) deletes.add(executor.submit(() -> bounded(() -> delete(fixture))));
+            for (int index = 0; index < fixtures.size(); index++) {
+                String error = outcome(deletes.get(index));
+                if (error != null) {
+                    created.add(fixtures.get(index));
+                    leaked.add(fixtures.get(index) + ": " + error);
+                }
+            }
+        }
+        if (!leaked.isEmpty()) {
+            AllureUtils.addAttachmentToReport("Fixtures not deleted", String.join("\n", leaked));
+        }
+        return leaked;
+    }
+
+    private void track(String kind, IPath deletePath, String id) {
+        created.add(new Fixture(kind, deletePath, id));
+    }
+
+    /** Returns null when the fixture is gone, otherwise why it is not. */
+    private String delete(Fixture fixture) {
+        Response response = httpRequest.deleteRaw(null, fixture.deletePath(), fixture.id());
+        int status = response.statusCode();
+        boolean gone = status == HttpStatusCode.OK.getStatusCode() || status == HttpStatusCode.NOT_FOUND.getStatusCode();
+        return gone ? null : "status " + status;
+    }
+
+    private <T> List<T> fanOut(String kind, List<Callable<T>> calls) {
+        List<Future<T>> futures = new ArrayList<>(calls.size());
+        List<T> results = new ArrayList<>(calls.size());
+        List<String> errors = new ArrayList<>();
+        Throwable firstError = null;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Callable<T> call : calls) futures.add(executor.submit(() -> bounded(call)));
+            for (Future<T> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException failure) {
+                    errors.add(String.valueOf(failure.getCause().getMessage()));
+                    if (firstError == null) firstError = failure.getCause();
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while provisioning " + kind, interrupted);
+                }
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Failed to provision " + errors.size() + "/" + calls.size() + " " + kind
+                    + " (the others are tracked for teardown): " + errors.get(0), firstError);
+        }
+        return results;
+    }
+
+    private <T> T bounded(Callable<T> call) throws Exception {
+        slots.acquire();
+        try {
+            return call.call();
+        } finally {
+            slots.release();
+        }
+    }
+
+    private static String outcome(Future<String> delete) {
+        try {
+            return delete.get();
+        } catch (ExecutionException failure) {
+            return String.valueOf(failure.getCause().getMessage());
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            return "interrupted";
+        }
+    }
+
+    private record Fixture(String kind, IPath deletePath, String id) {
+        @Override
+        public String toString() { return kind + " " + id; }
+    }
+}
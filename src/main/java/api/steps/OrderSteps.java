@@ -1,6 +1,7 @@
 package api.steps;
 
 import api.pojo.dto.store.OrderDto;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import io.qameta.allure.Step;
 import io.restassured.response.Response;
@@ -8,9 +9,12 @@ import utils.assertions.BaseSoftAssert;
 import utils.enums.ApiPath;
 import utils.enums.HttpStatusCode;
 import utils.enums.OrderStatus;
-import utils.helpers.JsonHelper;
+import utils.enums.PetStatus;
 import utils.request.http.HttpRequest;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import static utils.enums.ApiPath.*;
 
 public class OrderSteps extends BaseSoftAssert {
@@ -18,7 +22,7 @@ public class OrderSteps extends BaseSoftAssert {
 
     /** PLACE order using DTO (no builder). Validates key fields when present. */
     @Step("Create a new order using DTO flow and check if order is created")
-    public String placeOrder(Long orderId,
+    public OrderDto placeOrder(Long orderId,
                              Long petId,
                              Integer quantity,
                              String shipDateIso,
@@ -34,29 +38,27 @@ public class OrderSteps extends BaseSoftAssert {
                 completeFlag
         );
 
-        String responseBody = httpRequest.postRequest(null, requestBody, STORE_ORDER);
+        OrderDto placedOrder = httpRequest.postRequest(null, requestBody, STORE_ORDER, OrderDto.class);
 
-        JsonNode json = asJson(responseBody);
-        if (JsonHelper.has(json, "id"))       { assertEqualsLong(json, "id", orderId, "Place Order"); }
-        if (JsonHelper.has(json, "petId"))    { assertEqualsLong(json, "petId", petId, "Place Order"); }
-        if (JsonHelper.has(json, "quantity")) { assertEqualsInt(json, "quantity", quantity, "Place Order"); }
+        if (placedOrder.getId() != null)       { assertFieldEquals(placedOrder.getId(), orderId, "id", "Place Order"); }
+        if (placedOrder.getPetId() != null)    { assertFieldEquals(placedOrder.getPetId(), petId, "petId", "Place Order"); }
+        if (placedOrder.getQuantity() != null) { assertFieldEquals(placedOrder.getQuantity(), quantity, "quantity", "Place Order"); }
 
         finishAssertions();
-        return responseBody;
+        return placedOrder;
     }
 
     /** GET order by id. If the API returns 'id', assert it matches. */
     @Step("Get the order")
-    public String getOrder(long orderId) {
-        String responseBody = httpRequest.getRequest(null, STORE_ORDER_ID, String.valueOf(orderId));
+    public OrderDto getOrder(long orderId) {
+        OrderDto order = httpRequest.getRequest(null, STORE_ORDER_ID, OrderDto.class, String.valueOf(orderId));
 
-        JsonNode json = asJson(responseBody);
-        if (JsonHelper.has(json, "id")) {
-            assertEqualsLong(json, "id", orderId, "Get Order");
+        if (order.getId() != null) {
+            assertFieldEquals(order.getId(), orderId, "id", "Get Order");
         }
 
         finishAssertions();
-        return responseBody;
+        return order;
     }
 
     /** DELETE order and assert Petstore-style "code"==200 if present. */
@@ -71,11 +73,28 @@ public class OrderSteps extends BaseSoftAssert {
         return responseBody;
     }
 
-    @Step("Get inventory")
-    public String inventory() {
-        String responseBody = httpRequest.getRequest(null, STORE_INVENTORY);
+    /** Inventory is streamed into status -> quantity; the JSON body is never held as a String. */
+    @Step("Get inventory and assert available/pending/sold quantities are not negative")
+    public Map<String, Long> inventory() {
+        Map<String, Long> quantities = httpRequest.getStreaming(null, STORE_INVENTORY, null, parser -> {
+            Map<String, Long> byStatus = new LinkedHashMap<>();
+            if (parser.nextToken() != JsonToken.START_OBJECT) return byStatus;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String status = parser.currentName();
+                parser.nextToken();
+                byStatus.put(status, parser.getValueAsLong());
+            }
+            return byStatus;
+        });
+
+        for (PetStatus status : PetStatus.values()) {
+            Long quantity = quantities.get(status.name());
+            if (quantity != null) {
+                softAssert().assertTrue(quantity >= 0, "Inventory -> '" + status.name() + "' should not be negative");
+            }
+        }
         finishAssertions();
-        return responseBody;
+        return quantities;
     }
 
     @Step("Try to get an exist order by id")
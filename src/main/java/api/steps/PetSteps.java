@@ -4,59 +4,132 @@ import api.builder.pet.PetBuilder;
 import api.pojo.pet.Category;
 import api.pojo.pet.Pet;
 import api.pojo.pet.Tag;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
+import config.Config;
 import io.qameta.allure.Step;
+import org.testng.internal.collections.Pair;
 import utils.assertions.BaseSoftAssert;
 import utils.enums.ApiPath;
 import utils.enums.PetStatus;
-import utils.helpers.JsonHelper;
+import utils.helpers.QueryParams;
 import utils.request.http.HttpRequest;
+import utils.request.http.MultipartHttpClient;
 
+import java.io.File;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class PetSteps extends BaseSoftAssert {
-    private final HttpRequest httpRequest = new HttpRequest();
+    private final HttpRequest httpRequest;
+
+    public PetSteps() {
+        this(new HttpRequest());
+    }
+
+    public PetSteps(HttpRequest httpRequest) {
+        this.httpRequest = httpRequest;
+    }
 
     @Step("CREATE a new Pet and assert 'name' and 'status'")
-    public String createPet(Long id, Category category, String name,
-                            List<String> photoUrls, List<Tag> tags, PetStatus status) {
+    public Pet createPet(Long id, Category category, String name,
+                         List<String> photoUrls, List<Tag> tags, PetStatus status) {
         Pet requestBody = PetBuilder.buildNewPet(id, category, name, photoUrls, tags, status.name());
-        String responseBody = httpRequest.postRequest(null, requestBody, ApiPath.PET);
+        Pet createdPet = httpRequest.postRequest(null, requestBody, ApiPath.PET, Pet.class);
 
-        JsonNode json = asJson(responseBody);
-        assertEqualsString(json, "name", name, "Create Pet");
-        if (JsonHelper.has(json, "status")) {
-            assertEqualsString(json, "status", status.name(), "Create Pet");
+        assertFieldEquals(createdPet.getName(), name, "name", "Create Pet");
+        if (createdPet.getStatus() != null) {
+            assertFieldEquals(createdPet.getStatus(), status.name(), "status", "Create Pet");
         }
 
         finishAssertions();
-        return responseBody;
+        return createdPet;
     }
 
     @Step("UPDATE and assert Pet 'status' matches requested status")
-    public String updatePet(Long id, Category category, String name,
-                            List<String> photoUrls, List<Tag> tags, PetStatus status) {
+    public Pet updatePet(Long id, Category category, String name,
+                         List<String> photoUrls, List<Tag> tags, PetStatus status) {
         Pet requestBody = PetBuilder.buildNewPet(id, category, name, photoUrls, tags, status.name());
-        String responseBody = httpRequest.putRequest(null, requestBody, ApiPath.PET);
+        Pet updatedPet = httpRequest.putRequest(null, requestBody, ApiPath.PET, Pet.class);
 
-        JsonNode json = asJson(responseBody);
-        if (JsonHelper.has(json, "status")) {
-            assertEqualsString(json, "status", status.name(), "Update Pet");
+        if (updatedPet.getStatus() != null) {
+            assertFieldEquals(updatedPet.getStatus(), status.name(), "status", "Update Pet");
         }
 
         finishAssertions();
-        return responseBody;
+        return updatedPet;
     }
 
     @Step("GET and assert Pet by id equals requested id.")
-    public String getPetById(long petId) {
-        String responseBody = httpRequest.getRequest(null, ApiPath.PET_ID, String.valueOf(petId));
+    public Pet getPetById(long petId) {
+        Pet pet = httpRequest.getRequest(null, ApiPath.PET_ID, Pet.class, String.valueOf(petId));
 
-        JsonNode json = asJson(responseBody);
-        assertEqualsLong(json, "id", petId, "Get Pet By Id");
+        assertFieldEquals(pet.getId(), petId, "id", "Get Pet By Id");
 
         finishAssertions();
-        return responseBody;
+        return pet;
+    }
+
+    /** Fans out one non-blocking GET per id and asserts each response once all of them are back. */
+    @Step("GET several Pets by id in parallel and assert each id")
+    public List<Pet> getPetsByIds(List<Long> petIds) {
+        List<CompletableFuture<Pet>> calls = petIds.stream()
+                .map(petId -> httpRequest.getAsync(null, ApiPath.PET_ID, Pet.class, String.valueOf(petId)))
+                .toList();
+        CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+
+        for (int index = 0; index < petIds.size(); index++) {
+            assertFieldEquals(calls.get(index).join().getId(), petIds.get(index), "id", "Get Pets By Ids");
+        }
+
+        finishAssertions();
+        return calls.stream().map(CompletableFuture::join).toList();
+    }
+
+    /** Streams the (potentially large) result: only each Pet's 'status' is read, the rest is skipped. */
+    @Step("FIND Pets by status and assert every returned Pet has that status")
+    public int findPetsByStatus(PetStatus status) {
+        int petsFound = httpRequest.getStreaming(null, ApiPath.PET_FIND_BY_STATUS,
+                QueryParams.forStatus(status.name()), parser -> {
+                    int count = 0;
+                    if (parser.nextToken() != JsonToken.START_ARRAY) return count;
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        count++;
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String field = parser.currentName();
+                            parser.nextToken();
+                            if ("status".equals(field)) {
+                                softAssert().assertEquals(parser.getText(), status.name(), "Find Pets By Status -> 'status' mismatch");
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                    }
+                    return count;
+                });
+
+        finishAssertions();
+        return petsFound;
+    }
+
+    /** Uploads the images side by side (API_UPLOAD_PARALLELISM at a time), each streamed from disk. */
+    @Step("UPLOAD images for a Pet and assert every file was received")
+    public List<String> uploadImages(long petId, List<File> images) {
+        List<MultipartHttpClient.Upload> uploads = images.stream()
+                .map(image -> new MultipartHttpClient.Upload(ApiPath.PET_UPLOAD_IMAGE, List.of(Pair.of("file", image)),
+                        List.of(Pair.of("additionalMetadata", image.getName())), String.valueOf(petId)))
+                .toList();
+        List<String> responses = httpRequest.postRequestsForUploadFiles(Config.bearer(), uploads);
+
+        for (int index = 0; index < images.size(); index++) {
+            JsonNode json = asJson(responses.get(index));
+            assertCode200IfPresent(json, "Upload Pet Image");
+            softAssert().assertTrue(json.path("message").asText().contains(images.get(index).getName()),
+                    "Upload Pet Image -> 'message' does not name " + images.get(index).getName());
+        }
+
+        finishAssertions();
+        return responses;
     }
 
     @Step("DELETE and assert Petstore-style and get success status code if present.")
@@ -0,0 +1,112 @@
+package api.steps;
+
+import api.pojo.user.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import config.Config;
+import io.qameta.allure.Allure;
+import utils.AllureUtils;
+import utils.enums.ApiPath;
+import utils.helpers.JsonHelper;
+import utils.request.http.HttpRequest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Data setup for many users: collects {@link User}s (e.g. from UserBuilder) and creates them with one
+ * createWithList/createWithArray call per chunk of {@code chunkSize} (default API_USER_BATCH_SIZE) instead of
+ * one call per user. A failing chunk does not stop the others; {@link #flush()} reports which users were
+ * created and which chunks failed. Each chunk is its own Allure step. Not thread-safe: one batch per thread.
+ */
+public final class UserBatch {
+
+    private final HttpRequest httpRequest = new HttpRequest();
+    private final ApiPath endpoint;
+    private final int chunkSize;
+    private final List<User> pending = new ArrayList<>();
+
+    private UserBatch(ApiPath endpoint, int chunkSize) {
+        if (endpoint != ApiPath.USER_CREATE_WITH_LIST && endpoint != ApiPath.USER_CREATE_WITH_ARRAY) {
+            throw new IllegalArgumentException("Bulk user endpoint must be USER_CREATE_WITH_LIST or USER_CREATE_WITH_ARRAY, got " + endpoint);
+        }
+        if (chunkSize < 1) throw new IllegalArgumentException("chunkSize must be >= 1, got " + chunkSize);
+        this.endpoint = endpoint;
+        this.chunkSize = chunkSize;
+    }
+
+    public static UserBatch create() { return viaList(Config.userBatchSize()); }
+
+    public static UserBatch viaList(int chunkSize) { return new UserBatch(ApiPath.USER_CREATE_WITH_LIST, chunkSize); }
+
+    public static UserBatch viaArray(int chunkSize) { return new UserBatch(ApiPath.USER_CREATE_WITH_ARRAY, chunkSize); }
+
+    public UserBatch add(User user) {
+        pending.add(user);
+        return this;
+    }
+
+    public UserBatch addAll(Collection<User> users) {
+        pending.addAll(users);
+        return this;
+    }
+
+    public int size() { return pending.size(); }
+
+    /** Sends everything added so far, chunk by chunk, and empties the batch. */
+    public Result flush() {
+        List<String> created = new ArrayList<>();
+        List<ChunkFailure> failures = new ArrayList<>();
+        int chunkCount = (pending.size() + chunkSize - 1) / chunkSize;
+
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            List<User> users = pending.subList(chunk * chunkSize, Math.min(pending.size(), (chunk + 1) * chunkSize));
+            List<String> usernames = users.stream().map(User::getUsername).toList();
+            try {
+                List<User> body = List.copyOf(users);
+                Allure.step(endpoint.getDescription() + ": chunk " + (chunk + 1) + "/" + chunkCount + " (" + users.size() + " users)",
+                        () -> send(body));
+                created.addAll(usernames);
+            } catch (RuntimeException | AssertionError failure) {
+                failures.add(new ChunkFailure(chunk, usernames, String.valueOf(failure.getMessage())));
+            }
+        }
+        pending.clear();
+
+        Result result = new Result(created, failures);
+        if (!failures.isEmpty()) AllureUtils.addAttachmentToReport("Bulk user creation: failed chunks", result.summary());
+        return result;
+    }
+
+    private void send(List<User> users) {
+        String responseBody = httpRequest.postRequest(null, users, endpoint);
+        JsonNode json = JsonHelper.parse(responseBody);
+        if (JsonHelper.has(json, "code")) {
+            Integer code = JsonHelper.getInt(json, "code");
+            if (code == null || code != 200) {
+                throw new AssertionError(endpoint.getDescription() + " -> response field 'code' should be 200 but was " + code);
+            }
+        }
+    }
+
+    /** Users of one chunk that was rejected, with the error that rejected it. */
+    public record ChunkFailure(int chunk, List<String> usernames, String error) {}
+
+    public record Result(List<String> created, List<ChunkFailure> failures) {
+
+        public boolean isComplete() { return failures.isEmpty(); }
+
+        public int failedUsers() { return failures.stream().mapToInt(failure -> failure.usernames().size()).sum(); }
+
+        public String summary() {
+            StringBuilder summary = new StringBuilder()
+                    .append("created ").append(created.size()).append(" user(s), failed ").append(failedUsers())
+                    .append(" in ").append(failures.size()).append(" chunk(s)");
+            for (ChunkFailure failure : failures) {
+                summary.append("\n- chunk #").append(failure.chunk() + 1).append(' ').append(failure.usernames())
+                        .append(": ").append(failure.error());
+            }
+            return summary.toString();
+        }
+    }
+}
@@ -12,6 +12,8 @@ import utils.helpers.JsonHelper;
 import utils.helpers.QueryParams;
 import utils.request.http.HttpRequest;
 
+import java.util.List;
+
 public class UserSteps extends BaseSoftAssert {
     private final HttpRequest httpRequest = new HttpRequest();
 
@@ -28,6 +30,26 @@ public class UserSteps extends BaseSoftAssert {
         return responseBody;
     }
 
+    @Step("CREATE users in one call via createWithArray and check success status code if present.")
+    public String createUsersWithArray(List<User> users) {
+        return createUsers(ApiPath.USER_CREATE_WITH_ARRAY, users);
+    }
+
+    @Step("CREATE users in one call via createWithList and check success status code if present.")
+    public String createUsersWithList(List<User> users) {
+        return createUsers(ApiPath.USER_CREATE_WITH_LIST, users);
+    }
+
+    @Step("SEED users in chunks via createWithList; fails listing the chunks that were rejected.")
+    public UserBatch.Result seedUsers(List<User> users, int chunkSize) {
+        UserBatch.Result result = UserBatch.viaList(chunkSize).addAll(users).flush();
+
+        softAssert().assertTrue(result.isComplete(), "Seed Users -> " + result.summary());
+
+        finishAssertions();
+        return result;
+    }
+
     @Step("UPDATE user data and assert it, check success status code if present.")
     public String updateUser(String username, Long id, String firstName, String lastName,
                              String emailAddress, String password, String phoneNumber, Integer userStatus) {
@@ -43,19 +65,16 @@ public class UserSteps extends BaseSoftAssert {
     }
 
     @Step("GET and assert username equals requested username (if present).")
-    public String getUser(String username) {
-        String responseBody = httpRequest.getRequest(null, ApiPath.USER_USERNAME, username);
+    public User getUser(String username) {
+        User user = httpRequest.getRequest(null, ApiPath.USER_USERNAME, User.class, username);
 
-        JsonNode json = asJson(responseBody);
         // Petstore returns user object -> validate a few key fields if present
-        if (json != null) {
-            if (json.has("username")) {
-                assertEqualsString(json, "username", username, "Get User");
-            }
+        if (user != null && user.getUsername() != null) {
+            assertFieldEquals(user.getUsername(), username, "username", "Get User");
         }
 
         finishAssertions();
-        return responseBody;
+        return user;
     }
 
     @Step("DELETE user and assert it, check success status code if present.")
@@ -79,7 +98,7 @@ public class UserSteps extends BaseSoftAssert {
         if (JsonHelper.has(json, "message")) {
             String message = JsonHelper.getString(json, "message");
 
-            softAssert.assertTrue(message != null && message.toLowerCase().contains("logged in user session"),
+            softAssert().assertTrue(message != null && message.toLowerCase().contains("logged in user session"),
                     "Login -> 'message' should contain 'logged in user session'");
         }
         finishAssertions();
@@ -101,6 +120,16 @@ public class UserSteps extends BaseSoftAssert {
         return responseBody;
     }
 
+    private String createUsers(ApiPath endpoint, List<User> users) {
+        String responseBody = httpRequest.postRequest(null, users, endpoint);
+
+        JsonNode json = asJson(responseBody);
+        assertCode200IfPresent(json, endpoint.getDescription());
+
+        finishAssertions();
+        return responseBody;
+    }
+
     @Step("Get unexist user by id")
     public String getUserExpectingStatus(String username, HttpStatusCode expectedStatus) {
         Response response = httpRequest.getRaw(null, ApiPath.USER_USERNAME, null, username);
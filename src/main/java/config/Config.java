@@ -3,15 +3,21 @@ package config;
 import utils.enums.SystemVar;
 
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.stream.Collectors;
 
 public final class Config {
     private static final String BASE_FILE = "application.properties";
     private static final String ENV_KEY = "env";
     private static final String ENV_FILE_TEMPLATE = "application-%s.properties";
+    private static final String JOB_COMPLETION_INDEX = "JOB_COMPLETION_INDEX";
 
     private static final Properties PROPS = load();
+    private static final Map<String, String> PROP_KEYS = Arrays.stream(SystemVar.values())
+            .collect(Collectors.toUnmodifiableMap(SystemVar::getEnvKey, SystemVar::getPropKey));
 
     private Config() {}
 
@@ -59,13 +65,71 @@ public final class Config {
     public static String acceptLang() { return get(SystemVar.ACCEPT_LANG.getEnvKey(), "en-US"); }
     public static boolean consoleLog() { return Boolean.parseBoolean(get(SystemVar.API_CONSOLE_LOG.getEnvKey(), "true")); }
     public static int retryMax() { return Integer.parseInt(get(SystemVar.API_RETRY_MAX.getEnvKey(), "2")); }
+    public static long retryBaseDelayMillis() { return Long.parseLong(get(SystemVar.API_RETRY_BASE_DELAY_MS.getEnvKey(), "250")); }
+    public static long retryMaxDelayMillis() { return Long.parseLong(get(SystemVar.API_RETRY_MAX_DELAY_MS.getEnvKey(), "4000")); }
+    public static long retryDeadlineMillis() { return Long.parseLong(get(SystemVar.API_RETRY_DEADLINE_MS.getEnvKey(), "15000")); }
+    public static double retryBudgetRatio() { return Double.parseDouble(get(SystemVar.API_RETRY_BUDGET_RATIO.getEnvKey(), "0.2")); }
+    public static long retryBudgetMin() { return Long.parseLong(get(SystemVar.API_RETRY_BUDGET_MIN.getEnvKey(), "20")); }
+    public static String retryOverrides() { return get(SystemVar.API_RETRY_OVERRIDES.getEnvKey(), ""); }
+    public static boolean breakerEnabled() { return Boolean.parseBoolean(get(SystemVar.API_BREAKER_ENABLED.getEnvKey(), "true")); }
+    public static int breakerWindow() { return Integer.parseInt(get(SystemVar.API_BREAKER_WINDOW.getEnvKey(), "20")); }
+    public static int breakerMinCalls() { return Integer.parseInt(get(SystemVar.API_BREAKER_MIN_CALLS.getEnvKey(), "10")); }
+    public static double breakerFailureRate() { return Double.parseDouble(get(SystemVar.API_BREAKER_FAILURE_RATE.getEnvKey(), "50")); }
+    public static long breakerSlowCallMillis() { return Long.parseLong(get(SystemVar.API_BREAKER_SLOW_CALL_MS.getEnvKey(), "3000")); }
+    public static double breakerSlowCallRate() { return Double.parseDouble(get(SystemVar.API_BREAKER_SLOW_CALL_RATE.getEnvKey(), "80")); }
+    public static long breakerOpenMillis() { return Long.parseLong(get(SystemVar.API_BREAKER_OPEN_MS.getEnvKey(), "30000")); }
+    public static int breakerHalfOpenCalls() { return Integer.parseInt(get(SystemVar.API_BREAKER_HALF_OPEN_CALLS.getEnvKey(), "3")); }
+    public static double rateLimitPerSecond() { return Double.parseDouble(get(SystemVar.API_RATE_LIMIT_RPS.getEnvKey(), "0")); }
+    public static int rateLimitBurst() { return Integer.parseInt(get(SystemVar.API_RATE_LIMIT_BURST.getEnvKey(), "0")); }
+    public static int maxInFlight() { return Integer.parseInt(get(SystemVar.API_MAX_IN_FLIGHT.getEnvKey(), "0")); }
+    public static String rateLimitOverrides() { return get(SystemVar.API_RATE_LIMIT_OVERRIDES.getEnvKey(), ""); }
+    public static boolean getCache() { return Boolean.parseBoolean(get(SystemVar.API_GET_CACHE.getEnvKey(), "false")); }
+    public static long getCacheTtlMillis() { return Long.parseLong(get(SystemVar.API_GET_CACHE_TTL_MS.getEnvKey(), "30000")); }
+    public static int getCacheMaxEntries() { return Integer.parseInt(get(SystemVar.API_GET_CACHE_MAX_ENTRIES.getEnvKey(), "256")); }
+    public static String cassetteMode() { return get(SystemVar.API_CASSETTE_MODE.getEnvKey(), "OFF"); }
+    public static String cassetteFile() { return get(SystemVar.API_CASSETTE_FILE.getEnvKey(), "cassettes/petstore.cassette"); }
     public static String bearer() { return get(SystemVar.API_BEARER.getEnvKey(), ""); }
+    public static boolean virtualThreads() { return Boolean.parseBoolean(get(SystemVar.API_VIRTUAL_THREADS.getEnvKey(), "false")); }
+    public static int virtualThreadCount() { return Integer.parseInt(get(SystemVar.API_VIRTUAL_THREAD_COUNT.getEnvKey(), "256")); }
+    public static String httpVersion() { return get(SystemVar.API_HTTP_VERSION.getEnvKey(), "HTTP_1_1"); }
+    public static int poolMaxTotal() { return Integer.parseInt(get(SystemVar.API_POOL_MAX_TOTAL.getEnvKey(), "200")); }
+    public static int poolMaxPerRoute() { return Integer.parseInt(get(SystemVar.API_POOL_MAX_PER_ROUTE.getEnvKey(), "50")); }
+    public static long poolKeepAliveMillis() { return Long.parseLong(get(SystemVar.API_POOL_KEEP_ALIVE_MS.getEnvKey(), "30000")); }
+    public static long poolIdleEvictMillis() { return Long.parseLong(get(SystemVar.API_POOL_IDLE_EVICT_MS.getEnvKey(), "60000")); }
+    public static boolean jsonBlackbird() { return Boolean.parseBoolean(get(SystemVar.API_JSON_BLACKBIRD.getEnvKey(), "true")); }
+    public static boolean allureAttachments() { return Boolean.parseBoolean(get(SystemVar.API_ALLURE_ATTACHMENTS.getEnvKey(), "true")); }
+    public static boolean attachAsync() { return Boolean.parseBoolean(get(SystemVar.API_ATTACH_ASYNC.getEnvKey(), "true")); }
+    public static int attachQueueCapacity() { return Integer.parseInt(get(SystemVar.API_ATTACH_QUEUE_CAPACITY.getEnvKey(), "1024")); }
+    public static int attachMaxChars() { return Integer.parseInt(get(SystemVar.API_ATTACH_MAX_CHARS.getEnvKey(), "262144")); }
+    public static boolean logAsync() { return Boolean.parseBoolean(get(SystemVar.API_LOG_ASYNC.getEnvKey(), "true")); }
+    public static int logQueueCapacity() { return Integer.parseInt(get(SystemVar.API_LOG_QUEUE_CAPACITY.getEnvKey(), "8192")); }
+    public static String maskFields() { return get(SystemVar.API_MASK_FIELDS.getEnvKey(), SystemVar.API_MASK_FIELDS.getDefaultValue()); }
+    public static String metricsDir() { return get(SystemVar.API_METRICS_DIR.getEnvKey(), "target/metrics"); }
+    public static int userBatchSize() { return Integer.parseInt(get(SystemVar.API_USER_BATCH_SIZE.getEnvKey(), "100")); }
+    public static int fixtureParallelism() { return Integer.parseInt(get(SystemVar.API_FIXTURE_PARALLELISM.getEnvKey(), "8")); }
+    public static int uploadParallelism() { return Integer.parseInt(get(SystemVar.API_UPLOAD_PARALLELISM.getEnvKey(), "4")); }
+    /** Falls back to JOB_COMPLETION_INDEX, which Kubernetes sets in every pod of an Indexed Job. */
+    public static int shardIndex() { return Integer.parseInt(get(SystemVar.SHARD_INDEX.getEnvKey(), get(JOB_COMPLETION_INDEX, "0"))); }
+    public static int shardCount() { return Integer.parseInt(get(SystemVar.SHARD_COUNT.getEnvKey(), "1")); }
+    public static String shardTimingsFile() { return get(SystemVar.SHARD_TIMINGS.getEnvKey(), "shard-timings.json"); }
+    public static boolean localStub() { return Boolean.parseBoolean(get(SystemVar.API_LOCAL_STUB.getEnvKey(), "false")); }
+    public static boolean faultProxy() { return Boolean.parseBoolean(get(SystemVar.API_FAULT_PROXY.getEnvKey(), "false")); }
+    public static String faultUpstream() { return get(SystemVar.API_FAULT_UPSTREAM.getEnvKey(), ""); }
+    public static String faults() { return get(SystemVar.API_FAULTS.getEnvKey(), ""); }
+    public static String loadScenario() { return get(SystemVar.LOAD_SCENARIO.getEnvKey(), "PET_CRUD"); }
+    public static String loadModel() { return get(SystemVar.LOAD_MODEL.getEnvKey(), "OPEN"); }
+    public static double loadIterationsPerSecond() { return Double.parseDouble(get(SystemVar.LOAD_ITERATIONS_PER_SEC.getEnvKey(), "10")); }
+    public static int loadUsers() { return Integer.parseInt(get(SystemVar.LOAD_USERS.getEnvKey(), "10")); }
+    public static long loadRampUpSeconds() { return Long.parseLong(get(SystemVar.LOAD_RAMP_UP_SEC.getEnvKey(), "10")); }
+    public static long loadDurationSeconds() { return Long.parseLong(get(SystemVar.LOAD_DURATION_SEC.getEnvKey(), "60")); }
+    public static String loadReportFile() { return get(SystemVar.LOAD_REPORT.getEnvKey(), "target/load-report.json"); }
 
+    /** System property, then environment variable (both by env key), then the properties files (by prop key). */
     private static String get(String key, String def) {
         String sys = System.getProperty(key);
         if (sys != null && !sys.isBlank()) return sys;
         String env = System.getenv(key);
         if (env != null && !env.isBlank()) return env;
-        return PROPS.getProperty(key, def);
+        return PROPS.getProperty(PROP_KEYS.getOrDefault(key, key), def);
     }
 }
@@ -0,0 +1,117 @@
+package core;
+
+import config.Config;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes step lines off the test threads. A caller only enqueues (kind, number, message) on a lock-free queue;
+ * the colored line is built in one reused buffer and handed to log4j (or System.out for console lines) by a
+ * single daemon thread, so lines of one thread keep their order. When API_LOG_QUEUE_CAPACITY lines are pending
+ * the caller waits for the writer instead of dropping lines or writing out of order.
+ * API_LOG_ASYNC=false writes on the calling thread, interleaved exactly with other console output.
+ */
+final class StepLogWriter {
+
+    private static final int DRAIN_BATCH = 256;
+    private static final long BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long FLUSH_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    /** How a line is rendered; the ANSI prefixes are built once. */
+    enum Kind {
+        PRE_CONDITION(TestStepLogger.GREEN_BOLD + "Pre-condition STEP ", " : ", TestStepLogger.RESET),
+        POST_CONDITION(TestStepLogger.YELLOW_BOLD + "Post-condition STEP ", " : ", TestStepLogger.RESET),
+        STEP(TestStepLogger.BLUE_BOLD + "STEP ", " : ", TestStepLogger.RESET),
+        INFO("Additional test information: ", null, "\n"),
+        CONSOLE("", null, "");
+
+        private final String prefix;
+        private final String separator;
+        private final String suffix;
+
+        Kind(String prefix, String separator, String suffix) {
+            this.prefix = prefix;
+            this.separator = separator;
+            this.suffix = suffix;
+        }
+    }
+
+    private record Line(Kind kind, int number, String message) {}
+
+    private static final StepLogWriter INSTANCE = new StepLogWriter();
+
+    private final Logger logger = Logger.getLogger(TestStepLogger.class);
+    private final boolean async = Config.logAsync();
+    private final int capacity = Math.max(1, Config.logQueueCapacity());
+    private final LinkedTransferQueue<Line> queue = new LinkedTransferQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final StringBuilder buffer = new StringBuilder(256);
+
+    private StepLogWriter() {
+        if (async) {
+            Thread writer = new Thread(this::drainForever, "step-log-writer");
+            writer.setDaemon(true);
+            writer.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "step-log-flush"));
+        }
+    }
+
+    static StepLogWriter get() { return INSTANCE; }
+
+    void write(Kind kind, int number, String message) {
+        if (!async) {
+            synchronized (buffer) {
+                emit(kind, number, message);
+            }
+            return;
+        }
+        while (pending.get() >= capacity) LockSupport.parkNanos(BACKOFF_NANOS);
+        pending.incrementAndGet();
+        queue.put(new Line(kind, number, message));
+    }
+
+    /** Waits (bounded) until every line enqueued so far has been written. */
+    void flush() {
+        long deadline = System.nanoTime() + FLUSH_TIMEOUT_NANOS;
+        while (async && pending.get() > 0 && System.nanoTime() < deadline) LockSupport.parkNanos(BACKOFF_NANOS);
+    }
+
+    private void drainForever() {
+        List<Line> lines = new ArrayList<>(DRAIN_BATCH);
+        while (true) {
+            try {
+                lines.add(queue.take());
+            } catch (InterruptedException interrupted) {
+                return;
+            }
+            queue.drainTo(lines, DRAIN_BATCH - 1);
+            for (Line line : lines) {
+                try {
+                    emit(line.kind(), line.number(), line.message());
+                } catch (RuntimeException ignored) {
+                    // a broken appender must not stop the writer
+                }
+            }
+            pending.addAndGet(-lines.size());
+            lines.clear();
+        }
+    }
+
+    private void emit(Kind kind, int number, String message) {
+        buffer.setLength(0);
+        buffer.append(kind.prefix);
+        if (kind.separator != null) buffer.append(number).append(kind.separator);
+        buffer.append(message).append(kind.suffix);
+        if (kind == Kind.CONSOLE) {
+            System.out.println(buffer);
+        } else {
+            logger.info(buffer.toString());
+        }
+    }
+}
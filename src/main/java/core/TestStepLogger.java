@@ -1,17 +1,18 @@
 package core;
 
 import lombok.NoArgsConstructor;
-import lombok.extern.log4j.Log4j;
 
 import static lombok.AccessLevel.PRIVATE;
 
-@Log4j
+/**
+ * Numbered test steps. Counters are per thread: parallel tests (platform or virtual threads) number their own
+ * steps and {@link #resetCounters()} only resets the calling test's. Lines are written by {@link StepLogWriter},
+ * so a step costs the caller one small queue entry, not the formatting and the appender.
+ */
 @NoArgsConstructor(access = PRIVATE)
-
 public class TestStepLogger {
-    private static int preConditionStepNumber = 1;
-    private static int postConditionStepNumber = 1;
-    private static int logStep = 1;
+    private static final ThreadLocal<StepContext> CONTEXT = ThreadLocal.withInitial(StepContext::new);
+    private static final StepLogWriter WRITER = StepLogWriter.get();
 
     public static final String RESET = "\033[0m";  // Text Reset
 
@@ -20,26 +21,39 @@ public class TestStepLogger {
     public static final String BLUE_BOLD = "\033[1;34m";   // BLUE
 
     public static void logStep(String message) {
-        log.info(BLUE_BOLD + "STEP " + logStep++ + " : " + message + RESET);
+        WRITER.write(StepLogWriter.Kind.STEP, CONTEXT.get().step++, message);
     }
 
     public static void logPreConditionStep(String message) {
-        log.info(GREEN_BOLD + "Pre-condition STEP " + preConditionStepNumber++ + " : " + message + RESET);
+        WRITER.write(StepLogWriter.Kind.PRE_CONDITION, CONTEXT.get().preCondition++, message);
     }
 
     public static void logPostConditionStep(String message) {
-        log.info(YELLOW_BOLD + "Post-condition STEP " + postConditionStepNumber++ + " : " + message + RESET);
+        WRITER.write(StepLogWriter.Kind.POST_CONDITION, CONTEXT.get().postCondition++, message);
     }
 
     public static void log(String message) {
-        log.info("Additional test information: " + message + "\n");
+        WRITER.write(StepLogWriter.Kind.INFO, 0, message);
+    }
+
+    /** Plain console line (HTTP client traces), kept in order with the step lines of the same thread. */
+    public static void console(String line) {
+        WRITER.write(StepLogWriter.Kind.CONSOLE, 0, line);
     }
 
     public static void resetCounters() {
-        preConditionStepNumber = 1;
-        postConditionStepNumber = 1;
-        logStep = 1;
+        CONTEXT.remove();
+    }
+
+    /** Blocks until every line logged so far is written (suite end). */
+    public static void flush() {
+        WRITER.flush();
+    }
 
-        log.info(RESET);
+    /** Step numbers of the test running on this thread. */
+    private static final class StepContext {
+        private int preCondition = 1;
+        private int postCondition = 1;
+        private int step = 1;
     }
 }
@@ -0,0 +1,39 @@
+package load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import utils.enums.HttpMethod;
+import utils.enums.HttpStatusGroup;
+import utils.request.RequestObserver;
+import utils.request.path.IPath;
+import utils.request.resilience.PathOverrides;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Records every HTTP attempt made during a load run into one histogram per method + ApiPath. */
+final class LatencyRecorder implements RequestObserver {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public void onExchange(HttpMethod method, IPath path, int statusCode, long durationNanos, int attempt) {
+        Endpoint endpoint = endpoints.computeIfAbsent(method + " " + PathOverrides.keyOf(path), key -> new Endpoint());
+        endpoint.latency.recordValue(durationNanos);
+        if (!HttpStatusGroup.SUCCESS_CODES.contains(statusCode)) endpoint.errors.increment();
+    }
+
+    Map<String, Endpoint> endpoints() { return endpoints; }
+
+    static final class Endpoint {
+        private final Recorder latency = new Recorder(SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+
+        Histogram snapshot() { return latency.getIntervalHistogram(); }
+
+        long errors() { return errors.sum(); }
+    }
+}
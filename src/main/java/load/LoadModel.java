@@ -0,0 +1,7 @@
+package load;
+
+/**
+ * OPEN   - iterations start on a fixed schedule regardless of how long earlier ones take (arrival rate).
+ * CLOSED - a fixed number of virtual users loop over the scenario, optionally paced to the target rate.
+ */
+public enum LoadModel { OPEN, CLOSED }
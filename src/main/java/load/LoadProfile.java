@@ -0,0 +1,23 @@
+package load;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Shape of a load run. The rate is in scenario iterations per second; the request rate is that times the calls per
+ * iteration (4 for PET_CRUD), retries aside. For CLOSED runs 0 means "no pacing". OPEN runs drop an iteration
+ * instead of starting it when {@code maxInFlight} are still running.
+ */
+@Getter
+@Builder
+public class LoadProfile {
+    @Builder.Default private final LoadModel model = LoadModel.OPEN;
+    @Builder.Default private final double iterationsPerSecond = 10;
+    @Builder.Default private final int users = 10;
+    @Builder.Default private final int maxInFlight = 1000;
+    @Builder.Default private final Duration rampUp = Duration.ZERO;
+    @Builder.Default private final Duration duration = Duration.ofSeconds(60);
+    @Builder.Default private final Duration drainTimeout = Duration.ofSeconds(30);
+}
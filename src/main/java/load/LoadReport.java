@@ -0,0 +1,44 @@
+package load;
+
+import utils.helpers.JsonHelper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/** Outcome of a load run: scenario totals plus throughput and latency percentiles per method + ApiPath. */
+public record LoadReport(String scenario,
+                         String model,
+                         double elapsedSeconds,
+                         long iterations,
+                         long failedIterations,
+                         long droppedIterations,
+                         Map<String, Long> failuresByCause,
+                         List<EndpointStats> endpoints) {
+
+    public record EndpointStats(String endpoint, long requests, long errors, double throughputPerSecond,
+                                double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs) { }
+
+    public String toTable() {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+                "Scenario %s (%s): %d iterations, %d failed, %d dropped in %.1f s%n",
+                scenario, model, iterations, failedIterations, droppedIterations, elapsedSeconds));
+        failuresByCause.forEach((cause, count) -> table.append(String.format(Locale.ROOT, "  failed: %d x %s%n", count, cause)));
+        table.append(String.format(Locale.ROOT, "%-28s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (EndpointStats stats : endpoints) {
+            table.append(String.format(Locale.ROOT, "%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    stats.endpoint(), stats.requests(), stats.errors(), stats.throughputPerSecond(),
+                    stats.p50Ms(), stats.p90Ms(), stats.p99Ms(), stats.p999Ms(), stats.maxMs()));
+        }
+        return table.toString();
+    }
+
+    public void writeJson(Path target) throws IOException {
+        if (target.getParent() != null) Files.createDirectories(target.getParent());
+        Files.writeString(target, JsonHelper.toJson(this));
+    }
+}
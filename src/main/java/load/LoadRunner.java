@@ -0,0 +1,154 @@
+package load;
+
+import org.HdrHistogram.Histogram;
+import utils.request.RequestObservers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static core.TestStepLogger.log;
+
+/**
+ * Drives a {@link LoadScenario} (usually built from the step classes, see {@link PetstoreScenarios})
+ * for a fixed duration and reports latency per method + ApiPath from every HTTP attempt it causes.
+ * Every iteration runs on its own virtual thread; run it in the virtual-thread mode (API_VIRTUAL_THREADS, as
+ * {@link LoadRunnerMain} does) so the JSON calls go through the JDK client instead of queueing for RestAssured's pool.
+ */
+public class LoadRunner {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long SCHEDULER_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private final AtomicLong iterations = new AtomicLong();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<String, LongAdder> failureCauses = new ConcurrentHashMap<>();
+
+    public LoadReport run(String scenarioName, LoadScenario scenario, LoadProfile profile) {
+        iterations.set(0);
+        failures.reset();
+        dropped.reset();
+        failureCauses.clear();
+        LatencyRecorder recorder = new LatencyRecorder();
+        RequestObservers.register(recorder);
+        long startNanos = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (profile.getModel() == LoadModel.OPEN) {
+                runOpen(scenario, profile, workers, startNanos);
+            } else {
+                runClosed(scenario, profile, workers, startNanos);
+            }
+            workers.shutdown();
+            if (!workers.awaitTermination(profile.getDrainTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log("Load run: iterations still in flight after drain timeout, abandoning them");
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } finally {
+            RequestObservers.unregister(recorder);
+        }
+        double elapsedSeconds = (System.nanoTime() - startNanos) / (double) NANOS_PER_SECOND;
+        return report(scenarioName, profile, recorder, elapsedSeconds);
+    }
+
+    /** Starts iterations on schedule; when maxInFlight are still running the iteration is dropped, not delayed. */
+    private void runOpen(LoadScenario scenario, LoadProfile profile, ExecutorService workers, long startNanos) {
+        Semaphore inFlight = new Semaphore(profile.getMaxInFlight());
+        long endNanos = startNanos + profile.getDuration().toNanos();
+        long scheduled = 0;
+        for (long now = System.nanoTime(); now < endNanos; now = System.nanoTime()) {
+            long due = (long) expectedStarts(profile, now - startNanos);
+            for (; scheduled < due; scheduled++) {
+                if (!inFlight.tryAcquire()) {
+                    dropped.increment();
+                    continue;
+                }
+                workers.execute(() -> {
+                    try {
+                        runIteration(scenario);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            LockSupport.parkNanos(SCHEDULER_TICK_NANOS);
+        }
+    }
+
+    /** Starts users evenly over the ramp-up; each user paces itself to users/iterationsPerSecond seconds per iteration. */
+    private void runClosed(LoadScenario scenario, LoadProfile profile, ExecutorService workers, long startNanos) {
+        long endNanos = startNanos + profile.getDuration().toNanos();
+        int users = Math.max(1, profile.getUsers());
+        long pacingNanos = profile.getIterationsPerSecond() > 0 ? (long) (users * NANOS_PER_SECOND / profile.getIterationsPerSecond()) : 0;
+        for (int user = 0; user < users; user++) {
+            long userStartNanos = startNanos + profile.getRampUp().toNanos() * user / users;
+            workers.execute(() -> {
+                parkUntil(userStartNanos);
+                for (long next = userStartNanos; System.nanoTime() < endNanos; next += pacingNanos) {
+                    runIteration(scenario);
+                    parkUntil(Math.min(next + pacingNanos, endNanos));
+                }
+            });
+        }
+    }
+
+    private void runIteration(LoadScenario scenario) {
+        long iteration = iterations.incrementAndGet();
+        try {
+            scenario.run(iteration);
+        } catch (Throwable failure) {
+            failures.increment();
+            failureCauses.computeIfAbsent(failure.getClass().getSimpleName(), ignored -> new LongAdder()).increment();
+        }
+    }
+
+    /** Number of iterations that should have started after elapsed nanos, with a linear ramp to the target rate. */
+    private static double expectedStarts(LoadProfile profile, long elapsedNanos) {
+        double rate = profile.getIterationsPerSecond();
+        double elapsed = elapsedNanos / (double) NANOS_PER_SECOND;
+        double rampUp = profile.getRampUp().toNanos() / (double) NANOS_PER_SECOND;
+        if (elapsed < rampUp) return rate * elapsed * elapsed / (2 * rampUp);
+        return rate * rampUp / 2 + rate * (elapsed - rampUp);
+    }
+
+    private static void parkUntil(long deadlineNanos) {
+        for (long remaining = deadlineNanos - System.nanoTime(); remaining > 0; remaining = deadlineNanos - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private LoadReport report(String scenarioName, LoadProfile profile, LatencyRecorder recorder, double elapsedSeconds) {
+        List<LoadReport.EndpointStats> endpoints = new ArrayList<>();
+        for (Map.Entry<String, LatencyRecorder.Endpoint> entry : recorder.endpoints().entrySet()) {
+            Histogram histogram = entry.getValue().snapshot();
+            endpoints.add(new LoadReport.EndpointStats(entry.getKey(),
+                    histogram.getTotalCount(),
+                    entry.getValue().errors(),
+                    histogram.getTotalCount() / elapsedSeconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue())));
+        }
+        endpoints.sort((left, right) -> left.endpoint().compareTo(right.endpoint()));
+        Map<String, Long> causes = new TreeMap<>();
+        failureCauses.forEach((cause, count) -> causes.put(cause, count.sum()));
+        return new LoadReport(scenarioName, profile.getModel().name(), elapsedSeconds,
+                iterations.get(), failures.sum(), dropped.sum(), causes, endpoints);
+    }
+
+    private static double millis(long nanos) { return nanos / NANOS_PER_MILLI; }
+}
@@ -0,0 +1,47 @@
+package load;
+
+import config.Config;
+import utils.stub.FaultProxy;
+import utils.stub.PetstoreStub;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Command-line entry point; the run is configured through Config (LOAD_* keys):
+ *
+ * mvn -ntp compile exec:java -Dexec.mainClass=load.LoadRunnerMain -DLOAD_SCENARIO=PET_CRUD -DLOAD_ITERATIONS_PER_SEC=50
+ */
+public final class LoadRunnerMain {
+
+    private LoadRunnerMain() {}
+
+    public static void main(String[] args) throws Exception {
+        // per-request console lines would dominate the run; opt back in with -DAPI_CONSOLE_LOG=true
+        System.getProperties().putIfAbsent("API_CONSOLE_LOG", "false");
+        // iterations run on virtual threads: JSON calls through the JDK client, not RestAssured's pinning pool
+        System.getProperties().putIfAbsent("API_VIRTUAL_THREADS", "true");
+
+        PetstoreScenarios scenario = PetstoreScenarios.valueOf(Config.loadScenario());
+        LoadProfile profile = LoadProfile.builder()
+                .model(LoadModel.valueOf(Config.loadModel()))
+                .iterationsPerSecond(Config.loadIterationsPerSecond())
+                .users(Config.loadUsers())
+                .rampUp(Duration.ofSeconds(Config.loadRampUpSeconds()))
+                .duration(Duration.ofSeconds(Config.loadDurationSeconds()))
+                .build();
+
+        // env=local: load the in-process stub instead of a remote Petstore; API_FAULT_PROXY puts the fault proxy in front
+        FaultProxy proxy = FaultProxy.startIfEnabled();
+        PetstoreStub stub = PetstoreStub.startLocalIfEnabled();
+        try {
+            LoadReport report = new LoadRunner().run(scenario.name(), scenario, profile);
+            System.out.print(report.toTable());
+            report.writeJson(Path.of(Config.loadReportFile()));
+            if (proxy != null) System.out.println("Injected faults: " + proxy.summaryJson());
+        } finally {
+            if (proxy != null) proxy.close();
+            if (stub != null) stub.close();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package load;
+
+/** One iteration of a load scenario. Any exception or assertion error counts as a failed iteration. */
+@FunctionalInterface
+public interface LoadScenario {
+    void run(long iteration) throws Exception;
+}
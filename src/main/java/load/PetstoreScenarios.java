@@ -0,0 +1,69 @@
+package load;
+
+import api.pojo.pet.Category;
+import api.pojo.pet.Tag;
+import api.steps.OrderSteps;
+import api.steps.PetSteps;
+import api.steps.UserSteps;
+import utils.constants.TestData;
+import utils.enums.OrderStatus;
+import utils.enums.PetStatus;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Petstore flows for the load runner, built from the same step classes the smoke tests use. */
+public enum PetstoreScenarios implements LoadScenario {
+
+    PET_CRUD {
+        @Override
+        public void run(long iteration) {
+            long petId = nextId();
+            String name = "load-pet-" + petId;
+            List<String> photoUrls = List.of(TestData.DEFAULT_PHOTO_BASE + petId);
+            Steps.PET.createPet(petId, CATEGORY, name, photoUrls, TAGS, PetStatus.available);
+            Steps.PET.getPetById(petId);
+            Steps.PET.updatePet(petId, CATEGORY, name, photoUrls, TAGS, PetStatus.sold);
+            Steps.PET.deletePet(petId);
+        }
+    },
+    ORDER_CRUD {
+        @Override
+        public void run(long iteration) {
+            long orderId = nextId();
+            Steps.ORDER.placeOrder(orderId, 1L, TestData.DEFAULT_MIN_QTY, OffsetDateTime.now().toString(), OrderStatus.placed, true);
+            Steps.ORDER.getOrder(orderId);
+            Steps.ORDER.deleteOrder(orderId);
+        }
+    },
+    USER_CRUD {
+        @Override
+        public void run(long iteration) {
+            String username = "load_user_" + nextId();
+            Steps.USER.createUser("Load", "User", username + "@example.com", username);
+            Steps.USER.getUser(username);
+            Steps.USER.deleteUser(username);
+        }
+    },
+    INVENTORY {
+        @Override
+        public void run(long iteration) {
+            Steps.ORDER.inventory();
+        }
+    };
+
+    private static final AtomicLong IDS = new AtomicLong(System.currentTimeMillis() * 1000);
+    private static final Category CATEGORY = Category.builder()
+            .id(TestData.DEFAULT_CATEGORY_ID).name(TestData.DEFAULT_CATEGORY_NAME).build();
+    private static final List<Tag> TAGS = List.of(Tag.builder().id(1L).name("load").build());
+
+    private static long nextId() { return IDS.incrementAndGet(); }
+
+    /** Created on first use so that Config overrides made before the run are picked up by the clients. */
+    private static final class Steps {
+        private static final PetSteps PET = new PetSteps();
+        private static final OrderSteps ORDER = new OrderSteps();
+        private static final UserSteps USER = new UserSteps();
+    }
+}
@@ -0,0 +1,183 @@
+package utils;
+
+import config.Config;
+import io.qameta.allure.Allure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Writes HTTP attachments off the request thread.
+ *
+ * Allure binds attachments to the step running on the calling thread, so the attachment is registered
+ * there; building the message (formatting, masking) and writing the file happen on a single daemon
+ * writer thread. Small attachments of one step share a single file: further exchanges of the same step
+ * are appended to the step's first HTTP attachment. Bodies longer than API_ATTACH_MAX_CHARS are
+ * truncated. When the bounded queue (API_ATTACH_QUEUE_CAPACITY) is full the caller writes the
+ * attachment itself, which slows producers down instead of dropping attachments.
+ * {@link #flush()} blocks until everything submitted so far is on disk (called at suite end).
+ */
+public final class AllureAttachmentWriter {
+
+    private static final int COALESCE_MAX_CHARS = 8 * 1024;
+    private static final int COALESCE_MAX_PARTS = 50;
+    private static final int DRAIN_BATCH = 64;
+    private static final long FLUSH_TIMEOUT_SECONDS = 30;
+    private static final String PART_SEPARATOR = "\n----------------------------------------\n";
+
+    private static final AllureAttachmentWriter INSTANCE = new AllureAttachmentWriter();
+
+    private final boolean async = Config.attachAsync();
+    private final int maxChars = Config.attachMaxChars();
+    private final BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(Math.max(1, Config.attachQueueCapacity()));
+    private final ThreadLocal<Batch> openBatch = new ThreadLocal<>();
+    private final Set<Batch> openBatches = ConcurrentHashMap.newKeySet();
+
+    private AllureAttachmentWriter() {
+        if (async) {
+            Thread writer = new Thread(this::drainForever, "allure-attachment-writer");
+            writer.setDaemon(true);
+            writer.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "allure-attachment-flush"));
+        }
+    }
+
+    public static AllureAttachmentWriter get() { return INSTANCE; }
+
+    /**
+     * Attaches {@code content} to the current step. The supplier runs later on the writer thread, so it must
+     * only capture values that no longer change. {@code sizeHint} (raw body length) decides whether it may be
+     * coalesced with other small attachments of the step.
+     */
+    public void submit(String name, int sizeHint, Supplier<String> content) {
+        if (!AllureUtils.attachmentsEnabled()) return;
+        String stepUuid = Allure.getLifecycle().getCurrentTestCaseOrStep().orElse(null);
+
+        if (sizeHint <= COALESCE_MAX_CHARS && stepUuid != null) {
+            Batch current = openBatch.get();
+            if (current != null && current.stepUuid.equals(stepUuid) && current.tryAdd(content, sizeHint)) return;
+            if (current != null) seal(current);
+
+            Batch batch = new Batch(stepUuid, AllureUtils.prepareAttachment(name));
+            batch.tryAdd(content, sizeHint);
+            openBatch.set(batch);
+            openBatches.add(batch);
+            return;
+        }
+        Reservation reservation = reserve(name);
+        reservation.complete(content);
+    }
+
+    /** Registers a stand-alone attachment now (caller thread); its content is supplied later, from any thread. */
+    public Reservation reserve(String name) {
+        return new Reservation(AllureUtils.prepareAttachment(name));
+    }
+
+    /** Writes every pending attachment, including the open per-step batches, and waits for the writer. */
+    public void flush() {
+        for (Batch batch : List.copyOf(openBatches)) seal(batch);
+        openBatch.remove();
+        if (!async) return;
+
+        CountDownLatch written = new CountDownLatch(1);
+        enqueue(written::countDown);
+        try {
+            written.await(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void seal(Batch batch) {
+        if (!openBatches.remove(batch)) return;
+        if (openBatch.get() == batch) openBatch.remove();
+        List<Supplier<String>> parts = batch.seal();
+        write(batch.source, () -> {
+            if (parts.size() == 1) return parts.get(0).get();
+            StringBuilder joined = new StringBuilder();
+            for (Supplier<String> part : parts) {
+                if (!joined.isEmpty()) joined.append(PART_SEPARATOR);
+                joined.append(part.get());
+            }
+            return joined.toString();
+        });
+    }
+
+    private void write(String source, Supplier<String> content) {
+        if (source == null) return;
+        enqueue(() -> AllureUtils.writeAttachment(source, truncate(content.get())));
+    }
+
+    private void enqueue(Runnable job) {
+        if (!async || !queue.offer(job)) runQuietly(job);
+    }
+
+    private String truncate(String content) {
+        if (content == null || content.length() <= maxChars) return content;
+        return content.substring(0, maxChars) + "\n... [truncated " + (content.length() - maxChars) + " chars]";
+    }
+
+    private void drainForever() {
+        List<Runnable> jobs = new ArrayList<>(DRAIN_BATCH);
+        while (true) {
+            try {
+                jobs.add(queue.take());
+            } catch (InterruptedException interrupted) {
+                return;
+            }
+            queue.drainTo(jobs, DRAIN_BATCH - 1);
+            jobs.forEach(AllureAttachmentWriter::runQuietly);
+            jobs.clear();
+        }
+    }
+
+    private static void runQuietly(Runnable job) {
+        try { job.run(); } catch (Throwable ignored) { }
+    }
+
+    /** Attachment registered on the caller's step whose content arrives later (e.g. async responses). */
+    public final class Reservation {
+        private final String source;
+
+        private Reservation(String source) { this.source = source; }
+
+        public boolean isActive() { return source != null; }
+
+        public void complete(Supplier<String> content) { write(source, content); }
+    }
+
+    /** Small attachments of one step, written as one file once the step moves on or at flush. */
+    private static final class Batch {
+        private final String stepUuid;
+        private final String source;
+        private final List<Supplier<String>> parts = new ArrayList<>();
+        private int chars;
+        private boolean sealed;
+
+        private Batch(String stepUuid, String source) {
+            this.stepUuid = stepUuid;
+            this.source = source;
+        }
+
+        private synchronized boolean tryAdd(Supplier<String> content, int sizeHint) {
+            if (sealed || parts.size() >= COALESCE_MAX_PARTS || (!parts.isEmpty() && chars + sizeHint > COALESCE_MAX_CHARS)) {
+                return false;
+            }
+            parts.add(content);
+            chars += sizeHint;
+            return true;
+        }
+
+        private synchronized List<Supplier<String>> seal() {
+            sealed = true;
+            return List.copyOf(parts);
+        }
+    }
+}
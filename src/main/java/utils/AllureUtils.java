@@ -1,17 +1,71 @@
 package utils;
 
+import config.Config;
 import io.restassured.response.Response;
 import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 
 public final class AllureUtils {
+    private static final String TEXT_PLAIN = "text/plain";
+    private static final String TXT_EXTENSION = ".txt";
+
+    private static final boolean ATTACHMENTS_ENABLED = Config.allureAttachments();
+
     private AllureUtils(){}
+
+    /**
+     * False when attachments are switched off (API_ALLURE_ATTACHMENTS=false) or nothing is running on this thread
+     * (load runs, benchmarks), so callers can skip building and masking the content altogether.
+     */
+    public static boolean attachmentsEnabled() {
+        try {
+            return ATTACHMENTS_ENABLED && Allure.getLifecycle().getCurrentTestCaseOrStep().isPresent();
+        } catch (Throwable ignored) {
+            return false;
+        }
+    }
+
     public static void addAttachmentToReport(String name, String content) {
-        try { Allure.addAttachment(name, content); } catch (Throwable ignored) {}
+        try {
+            if (!attachmentsEnabled()) return;
+            Allure.addAttachment(name, content);
+        } catch (Throwable ignored) {}
     }
+
+    /**
+     * Registers an attachment on the step/test running on the calling thread and returns its source,
+     * so the content can be written later from another thread (see {@link #writeAttachment}).
+     * Returns null when attachments are disabled or no test is running.
+     */
+    public static String prepareAttachment(String name) {
+        try {
+            if (!attachmentsEnabled()) return null;
+            AllureLifecycle lifecycle = Allure.getLifecycle();
+            return lifecycle.prepareAttachment(name, TEXT_PLAIN, TXT_EXTENSION);
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+
+    public static void writeAttachment(String source, String content) {
+        if (source == null) return;
+        try {
+            byte[] bytes = (content == null ? "" : content).getBytes(StandardCharsets.UTF_8);
+            Allure.getLifecycle().writeAttachment(source, new ByteArrayInputStream(bytes));
+        } catch (Throwable ignored) {}
+    }
+
     public static String getAllureReportMessage(Response response, String maskedResponse, String maskedRequest, String title) {
+        return getAllureReportMessage(response == null ? null : response.statusCode(), maskedResponse, maskedRequest, title);
+    }
+
+    public static String getAllureReportMessage(Integer statusCode, String maskedResponse, String maskedRequest, String title) {
         StringBuilder builder = new StringBuilder();
         builder.append("Title: ").append(title).append("\n")
-               .append("Status: ").append(response == null ? "?" : response.statusCode()).append("\n")
+               .append("Status: ").append(statusCode == null ? "?" : statusCode).append("\n")
                .append("Request: ").append(maskedRequest == null ? "(no body)" : maskedRequest).append("\n")
                .append("Response: ").append(maskedResponse == null ? "" : maskedResponse).append("\n");
         return builder.toString();
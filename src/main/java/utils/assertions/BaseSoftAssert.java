@@ -6,10 +6,25 @@ import org.testng.asserts.SoftAssert;
 import utils.enums.HttpStatusCode;
 import utils.helpers.JsonHelper;
 
-/** Shared SoftAssert helpers to be used from steps. */
+/**
+ * Shared SoftAssert helpers to be used from steps.
+ * Step instances are shared by parallel test methods/data-provider rows, so each thread collects
+ * into its own SoftAssert, which is discarded by {@link #finishAssertions()}. A step that throws before it
+ * gets there leaves its SoftAssert behind; BaseApiTest drops it after every test via {@link #discardPending()}.
+ */
 public abstract class BaseSoftAssert {
 
-    protected final SoftAssert softAssert = new SoftAssert();
+    /** One per thread, shared by all step classes: a thread runs one step at a time. */
+    private static final ThreadLocal<SoftAssert> SOFT_ASSERT = ThreadLocal.withInitial(SoftAssert::new);
+
+    protected SoftAssert softAssert() {
+        return SOFT_ASSERT.get();
+    }
+
+    /** Drops the calling thread's unfinished assertions, so they neither leak nor reach the next test. */
+    public static void discardPending() {
+        SOFT_ASSERT.remove();
+    }
 
     protected JsonNode asJson(final String responseBody) {
         return JsonHelper.parse(responseBody);
@@ -19,38 +34,45 @@ public abstract class BaseSoftAssert {
     protected void assertCode200IfPresent(final JsonNode node, final String context) {
         if (JsonHelper.has(node, "code")) {
             Integer code = JsonHelper.getInt(node, "code");
-            softAssert.assertNotNull(code, context + " -> response field 'code' should exist");
+            softAssert().assertNotNull(code, context + " -> response field 'code' should exist");
             if (code != null) {
-                softAssert.assertEquals(code.intValue(), 200, context + " -> response field 'code' should be 200");
+                softAssert().assertEquals(code.intValue(), 200, context + " -> response field 'code' should be 200");
             }
         }
     }
 
     protected void assertEqualsString(final JsonNode node, final String field, final String expected, final String context) {
         String actual = JsonHelper.getString(node, field);
-        softAssert.assertEquals(actual, expected, context + " -> '" + field + "' mismatch");
+        softAssert().assertEquals(actual, expected, context + " -> '" + field + "' mismatch");
     }
 
     protected void assertEqualsLong(final JsonNode node, final String field, final Long expected, final String context) {
         Long actual = JsonHelper.getLong(node, field);
-        softAssert.assertEquals(actual, expected, context + " -> '" + field + "' mismatch");
+        softAssert().assertEquals(actual, expected, context + " -> '" + field + "' mismatch");
     }
 
     protected void assertEqualsInt(final JsonNode node, final String field, final Integer expected, final String context) {
         Integer actual = JsonHelper.getInt(node, field);
-        softAssert.assertEquals(actual, expected, context + " -> '" + field + "' mismatch");
+        softAssert().assertEquals(actual, expected, context + " -> '" + field + "' mismatch");
+    }
+
+    /** Same message format as the JsonNode helpers, for responses decoded into POJOs. */
+    protected void assertFieldEquals(final Object actual, final Object expected, final String field, final String context) {
+        softAssert().assertEquals(actual, expected, context + " -> '" + field + "' mismatch");
     }
 
     protected void assertHttpStatusEquals(final Response response,
                                           final HttpStatusCode expectedStatus,
                                           final String context) {
         int actualStatus = response == null ? -1 : response.getStatusCode();
-        softAssert.assertEquals(actualStatus, expectedStatus.getStatusCode(),
+        softAssert().assertEquals(actualStatus, expectedStatus.getStatusCode(),
                 context + " -> HTTP status mismatch");
     }
 
     /** Finish this step’s assertions. Each step method should call this at the end. */
     protected void finishAssertions() {
-        softAssert.assertAll();
+        SoftAssert stepAssert = SOFT_ASSERT.get();
+        SOFT_ASSERT.remove();
+        stepAssert.assertAll();
     }
 }
\ No newline at end of file
@@ -1,27 +1,120 @@
 package utils.base;
 
+import api.fixtures.FixtureService;
 import config.Config;
-import io.qameta.allure.testng.AllureTestNg;
 import io.restassured.RestAssured;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.BeforeSuite;
-import org.testng.annotations.Listeners;
+import utils.AllureAttachmentWriter;
+import utils.assertions.BaseSoftAssert;
+import utils.helpers.JsonHelper;
+import utils.helpers.TestDataSource;
+import utils.metrics.RequestMetrics;
+import utils.request.http.ResponseCache;
+import utils.stub.FaultProxy;
+import utils.stub.PetstoreStub;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 
 import static core.TestStepLogger.*;
+import static utils.AllureUtils.addAttachmentToReport;
 
-@Listeners({AllureTestNg.class})
 public abstract class BaseApiTest {
 
+    /** Data created for this test class; deleted after the class (see {@link FixtureService#suite()} for suite-wide data). */
+    protected final FixtureService fixtures = new FixtureService(getClass().getName());
+    /** Per test invocation: parallel methods and data-provider rows each draw from their own source. */
+    private final ThreadLocal<TestDataSource> testData = new ThreadLocal<>();
+
     @BeforeSuite(alwaysRun = true)
     public void setupSuite() {
         logPreConditionStep("Base issues validation");
+        FaultProxy.startIfEnabled();
+        PetstoreStub.startLocalIfEnabled();
         RestAssured.baseURI = Config.baseApiUrl();
         RestAssured.useRelaxedHTTPSValidation();
     }
 
+    /** Seeds {@link #data()} from class, method and parameters, so a cassette sees the same requests every run. */
+    @BeforeMethod(alwaysRun = true)
+    public void seedTestData(Method method, Object[] parameters) {
+        testData.set(TestDataSource.forScope(getClass().getName() + "#" + method.getName() + Arrays.toString(parameters)));
+    }
+
+    /** Ids, Faker and timestamps for the running test method; use instead of System.currentTimeMillis() and new Faker(). */
+    protected TestDataSource data() {
+        return testData.get();
+    }
+
+    /** For data providers, which run before {@link #seedTestData}: seeded from class and provider name. */
+    protected TestDataSource providerData(String provider) {
+        return TestDataSource.forScope(getClass().getName() + "#" + provider);
+    }
+
     @AfterMethod(alwaysRun = true)
     public void resetSteps() {
         log("Reset step counters");
         resetCounters();
+        ResponseCache.clear();
+        BaseSoftAssert.discardPending();
+        testData.remove();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDownClassFixtures() {
+        if (fixtures.size() == 0) return;
+        logPostConditionStep("Delete class fixtures");
+        fixtures.tearDown();
+    }
+
+    /**
+     * One method, so the order is fixed: suite fixtures are deleted first (their requests count in the metrics),
+     * metrics are published next (their attachments are queued), the attachment writer is flushed last.
+     * A step that fails does not skip the ones after it.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void tearDownSuite() throws IOException {
+        try {
+            tearDownSuiteFixtures();
+        } finally {
+            try {
+                publishRequestMetrics();
+            } finally {
+                flushReportAttachments();
+            }
+        }
+    }
+
+    private void tearDownSuiteFixtures() {
+        if (FixtureService.suite().size() == 0) return;
+        logPostConditionStep("Delete suite fixtures");
+        FixtureService.suite().tearDown();
+    }
+
+    private void publishRequestMetrics() throws IOException {
+        logPostConditionStep("Publish request latency metrics");
+        String csv = RequestMetrics.global().writeSummary(Path.of(Config.metricsDir()));
+        addAttachmentToReport("Request metrics (CSV)", csv);
+        addAttachmentToReport("Request metrics (JSON)", RequestMetrics.global().toJson());
+        if (!RequestMetrics.global().breakerTransitions().isEmpty()) {
+            addAttachmentToReport("Circuit breaker transitions", JsonHelper.toJson(RequestMetrics.global().breakerTransitions()));
+        }
+        FaultProxy proxy = FaultProxy.current();
+        if (proxy != null) {
+            Files.writeString(Path.of(Config.metricsDir()).resolve("fault-injection.json"), proxy.summaryJson());
+            addAttachmentToReport("Injected faults", proxy.summaryJson());
+        }
+    }
+
+    private void flushReportAttachments() {
+        logPostConditionStep("Flush pending HTTP attachments");
+        AllureAttachmentWriter.get().flush();
     }
 }
@@ -0,0 +1,29 @@
+package utils.base;
+
+import config.Config;
+import org.testng.TestNG;
+
+import java.util.List;
+
+/**
+ * Runs a TestNG suite outside Surefire so the worker pool can be swapped for virtual threads
+ * (Surefire gives no hook for a custom executor factory).
+ *
+ * mvn -ntp test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=utils.base.SuiteLauncher -DAPI_VIRTUAL_THREADS=true
+ */
+public final class SuiteLauncher {
+
+    private static final String DEFAULT_SUITE = "testng.xml";
+
+    private SuiteLauncher() {}
+
+    public static void main(String[] args) {
+        TestNG testng = new TestNG();
+        testng.setTestSuites(List.of(args.length > 0 ? args[0] : DEFAULT_SUITE));
+        if (Config.virtualThreads()) {
+            testng.setExecutorServiceFactory(new VirtualThreadExecutorFactory());
+        }
+        testng.run();
+        System.exit(testng.getStatus());
+    }
+}
@@ -0,0 +1,24 @@
+package utils.base;
+
+import org.testng.IExecutorServiceFactory;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TestNG worker pool whose workers are virtual threads. The pool size still caps the number of
+ * concurrent tests, but a worker blocked on HTTP no longer pins a carrier (platform) thread.
+ */
+public class VirtualThreadExecutorFactory implements IExecutorServiceFactory {
+
+    private static final ThreadFactory VIRTUAL_WORKERS = Thread.ofVirtual().name("testng-virtual-", 0).factory();
+
+    @Override
+    public ExecutorService create(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+                                  BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory) {
+        return new ThreadPoolExecutor(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, VIRTUAL_WORKERS);
+    }
+}
@@ -0,0 +1,39 @@
+package utils.base;
+
+import config.Config;
+import org.testng.IAlterSuiteListener;
+import org.testng.IAnnotationTransformer;
+import org.testng.annotations.IDataProviderAnnotation;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Switches the suite to the virtual-thread run mode when {@code API_VIRTUAL_THREADS=true}:
+ * test methods and data-provider rows run in parallel, up to {@code API_VIRTUAL_THREAD_COUNT} at a time.
+ * Without the flag testng.xml is used as written.
+ */
+public class VirtualThreadSuiteListener implements IAlterSuiteListener, IAnnotationTransformer {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (!Config.virtualThreads()) return;
+        int concurrency = Config.virtualThreadCount();
+        for (XmlSuite suite : suites) {
+            suite.setParallel(XmlSuite.ParallelMode.METHODS);
+            suite.setThreadCount(concurrency);
+            suite.setDataProviderThreadCount(concurrency);
+            for (XmlTest test : suite.getTests()) {
+                test.setParallel(XmlSuite.ParallelMode.METHODS);
+                test.setThreadCount(concurrency);
+            }
+        }
+    }
+
+    @Override
+    public void transform(IDataProviderAnnotation annotation, Method method) {
+        if (Config.virtualThreads()) annotation.setParallel(true);
+    }
+}
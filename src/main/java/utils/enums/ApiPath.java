@@ -2,11 +2,13 @@ package utils.enums;
 
 import lombok.Getter;
 import utils.request.path.IPath;
+import utils.request.path.PathTemplate;
 
 @Getter
 public enum ApiPath implements IPath {
     PET("/pet", "Create/Update Pet"),
     PET_ID("/pet/%s", "Pet by ID"),
+    PET_FIND_BY_STATUS("/pet/findByStatus", "Find Pets by Status"),
     PET_UPLOAD_IMAGE("/pet/%s/uploadImage", "Upload Pet Image"),
     STORE_ORDER("/store/order", "Place Order"),
     STORE_ORDER_ID("/store/order/%s", "Order by ID"),
@@ -20,10 +22,13 @@ public enum ApiPath implements IPath {
 
     private final String url;
     private final String description;
+    private final PathTemplate template;
 
     ApiPath(String url, String description) {
         this.url = url; this.description = description;
+        this.template = PathTemplate.compile(url);
     }
     @Override public String url() { return url; }
     @Override public String getDescription() { return description; }
+    @Override public PathTemplate template() { return template; }
 }
@@ -6,7 +6,10 @@ import lombok.Getter;
 public enum HttpHeader {
     CONTENT_TYPE("Content-Type"),
     AUTHORIZATION("Authorization"),
-    ACCEPT_LANGUAGE("Accept-Language");
+    ACCEPT_LANGUAGE("Accept-Language"),
+    RETRY_AFTER("Retry-After"),
+    ETAG("ETag"),
+    IF_NONE_MATCH("If-None-Match");
 
     private final String key;
     HttpHeader(String key){ this.key = key; }
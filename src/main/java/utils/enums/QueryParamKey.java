@@ -5,7 +5,8 @@ import lombok.Getter;
 @Getter
 public enum QueryParamKey {
     USERNAME("username"),
-    PASSWORD("password");
+    PASSWORD("password"),
+    STATUS("status");
 
     private final String key;
 
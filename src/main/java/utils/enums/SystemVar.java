@@ -8,8 +8,64 @@ public enum SystemVar {
     FILES_BASE_URL("FILES_BASE_URL", "files.base.url", "https://petstore.swagger.io/v2"),
     API_CONSOLE_LOG("API_CONSOLE_LOG", "api.console.log", "true"),
     API_RETRY_MAX("API_RETRY_MAX", "api.retry.max", "2"),
+    API_RETRY_BASE_DELAY_MS("API_RETRY_BASE_DELAY_MS", "api.retry.base.delay.ms", "250"),
+    API_RETRY_MAX_DELAY_MS("API_RETRY_MAX_DELAY_MS", "api.retry.max.delay.ms", "4000"),
+    API_RETRY_DEADLINE_MS("API_RETRY_DEADLINE_MS", "api.retry.deadline.ms", "15000"),
+    API_RETRY_BUDGET_RATIO("API_RETRY_BUDGET_RATIO", "api.retry.budget.ratio", "0.2"),
+    API_RETRY_BUDGET_MIN("API_RETRY_BUDGET_MIN", "api.retry.budget.min", "20"),
+    API_RETRY_OVERRIDES("API_RETRY_OVERRIDES", "api.retry.overrides", ""),
+    API_BREAKER_ENABLED("API_BREAKER_ENABLED", "api.breaker.enabled", "true"),
+    API_BREAKER_WINDOW("API_BREAKER_WINDOW", "api.breaker.window", "20"),
+    API_BREAKER_MIN_CALLS("API_BREAKER_MIN_CALLS", "api.breaker.min.calls", "10"),
+    API_BREAKER_FAILURE_RATE("API_BREAKER_FAILURE_RATE", "api.breaker.failure.rate", "50"),
+    API_BREAKER_SLOW_CALL_MS("API_BREAKER_SLOW_CALL_MS", "api.breaker.slow.call.ms", "3000"),
+    API_BREAKER_SLOW_CALL_RATE("API_BREAKER_SLOW_CALL_RATE", "api.breaker.slow.call.rate", "80"),
+    API_BREAKER_OPEN_MS("API_BREAKER_OPEN_MS", "api.breaker.open.ms", "30000"),
+    API_BREAKER_HALF_OPEN_CALLS("API_BREAKER_HALF_OPEN_CALLS", "api.breaker.half.open.calls", "3"),
+    API_RATE_LIMIT_RPS("API_RATE_LIMIT_RPS", "api.rate.limit.rps", "0"),
+    API_RATE_LIMIT_BURST("API_RATE_LIMIT_BURST", "api.rate.limit.burst", "0"),
+    API_MAX_IN_FLIGHT("API_MAX_IN_FLIGHT", "api.max.in.flight", "0"),
+    API_RATE_LIMIT_OVERRIDES("API_RATE_LIMIT_OVERRIDES", "api.rate.limit.overrides", ""),
+    API_GET_CACHE("API_GET_CACHE", "api.get.cache", "false"),
+    API_GET_CACHE_TTL_MS("API_GET_CACHE_TTL_MS", "api.get.cache.ttl.ms", "30000"),
+    API_GET_CACHE_MAX_ENTRIES("API_GET_CACHE_MAX_ENTRIES", "api.get.cache.max.entries", "256"),
+    API_CASSETTE_MODE("API_CASSETTE_MODE", "api.cassette.mode", "OFF"),
+    API_CASSETTE_FILE("API_CASSETTE_FILE", "api.cassette.file", "cassettes/petstore.cassette"),
     ACCEPT_LANG("ACCEPT_LANG", "accept.lang", "en-US"),
-    API_BEARER("API_BEARER", "api.bearer", "special-key");
+    API_BEARER("API_BEARER", "api.bearer", ""),
+    API_VIRTUAL_THREADS("API_VIRTUAL_THREADS", "api.virtual.threads", "false"),
+    API_VIRTUAL_THREAD_COUNT("API_VIRTUAL_THREAD_COUNT", "api.virtual.thread.count", "256"),
+    API_HTTP_VERSION("API_HTTP_VERSION", "api.http.version", "HTTP_1_1"),
+    API_POOL_MAX_TOTAL("API_POOL_MAX_TOTAL", "api.pool.max.total", "200"),
+    API_POOL_MAX_PER_ROUTE("API_POOL_MAX_PER_ROUTE", "api.pool.max.per.route", "50"),
+    API_POOL_KEEP_ALIVE_MS("API_POOL_KEEP_ALIVE_MS", "api.pool.keep.alive.ms", "30000"),
+    API_POOL_IDLE_EVICT_MS("API_POOL_IDLE_EVICT_MS", "api.pool.idle.evict.ms", "60000"),
+    API_JSON_BLACKBIRD("API_JSON_BLACKBIRD", "api.json.blackbird", "true"),
+    API_ALLURE_ATTACHMENTS("API_ALLURE_ATTACHMENTS", "api.allure.attachments", "true"),
+    API_ATTACH_ASYNC("API_ATTACH_ASYNC", "api.attach.async", "true"),
+    API_ATTACH_QUEUE_CAPACITY("API_ATTACH_QUEUE_CAPACITY", "api.attach.queue.capacity", "1024"),
+    API_ATTACH_MAX_CHARS("API_ATTACH_MAX_CHARS", "api.attach.max.chars", "262144"),
+    API_LOG_ASYNC("API_LOG_ASYNC", "api.log.async", "true"),
+    API_LOG_QUEUE_CAPACITY("API_LOG_QUEUE_CAPACITY", "api.log.queue.capacity", "8192"),
+    API_MASK_FIELDS("API_MASK_FIELDS", "api.mask.fields", "password,apiKey,api_key,email,phone,token,accessToken"),
+    API_METRICS_DIR("API_METRICS_DIR", "api.metrics.dir", "target/metrics"),
+    API_USER_BATCH_SIZE("API_USER_BATCH_SIZE", "api.user.batch.size", "100"),
+    API_FIXTURE_PARALLELISM("API_FIXTURE_PARALLELISM", "api.fixture.parallelism", "8"),
+    API_UPLOAD_PARALLELISM("API_UPLOAD_PARALLELISM", "api.upload.parallelism", "4"),
+    SHARD_INDEX("SHARD_INDEX", "shard.index", ""),
+    SHARD_COUNT("SHARD_COUNT", "shard.count", "1"),
+    SHARD_TIMINGS("SHARD_TIMINGS", "shard.timings", "shard-timings.json"),
+    API_LOCAL_STUB("API_LOCAL_STUB", "api.local.stub", "false"),
+    API_FAULT_PROXY("API_FAULT_PROXY", "api.fault.proxy", "false"),
+    API_FAULT_UPSTREAM("API_FAULT_UPSTREAM", "api.fault.upstream", ""),
+    API_FAULTS("API_FAULTS", "api.faults", ""),
+    LOAD_SCENARIO("LOAD_SCENARIO", "load.scenario", "PET_CRUD"),
+    LOAD_MODEL("LOAD_MODEL", "load.model", "OPEN"),
+    LOAD_ITERATIONS_PER_SEC("LOAD_ITERATIONS_PER_SEC", "load.iterations.per.sec", "10"),
+    LOAD_USERS("LOAD_USERS", "load.users", "10"),
+    LOAD_RAMP_UP_SEC("LOAD_RAMP_UP_SEC", "load.ramp.up.sec", "10"),
+    LOAD_DURATION_SEC("LOAD_DURATION_SEC", "load.duration.sec", "60"),
+    LOAD_REPORT("LOAD_REPORT", "load.report", "target/load-report.json");
 
     private final String envKey;
     private final String propKey;
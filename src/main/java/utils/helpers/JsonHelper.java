@@ -1,21 +1,89 @@
 package utils.helpers;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import config.Config;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One configured ObjectMapper plus per-type ObjectReader/ObjectWriter caches.
+ * Readers and writers are immutable and thread-safe, so each type resolves its (de)serializers once.
+ * With API_JSON_BLACKBIRD=true accessors are generated via LambdaMetafactory instead of reflection.
+ */
 public final class JsonHelper {
-    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectMapper MAPPER = mapper();
+    private static final ObjectReader TREE_READER = MAPPER.reader();
+    private static final Map<Type, ObjectReader> READERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
     private JsonHelper(){}
 
+    private static ObjectMapper mapper() {
+        ObjectMapper mapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        if (Config.jsonBlackbird()) mapper.registerModule(new BlackbirdModule());
+        return mapper;
+    }
+
     public static JsonNode parse(String json) {
         try {
-            return MAPPER.readTree(json == null ? "{}" : json);
+            return TREE_READER.readTree(json == null ? "{}" : json);
         } catch (JsonProcessingException e) {
             throw new IllegalArgumentException("Invalid JSON provided", e);
         }
     }
 
+    /** Decodes straight into {@code type}, skipping the JsonNode tree. */
+    public static <T> T read(String json, Class<T> type) {
+        return read(json, reader(type), type.getSimpleName());
+    }
+
+    public static <T> T read(String json, TypeReference<T> type) {
+        return read(json, reader(type), type.getType().getTypeName());
+    }
+
+    public static ObjectReader reader(Class<?> type) {
+        return READERS.computeIfAbsent(type, ignored -> MAPPER.readerFor(type));
+    }
+
+    public static ObjectReader reader(TypeReference<?> type) {
+        return READERS.computeIfAbsent(type.getType(), ignored -> MAPPER.readerFor(type));
+    }
+
+    private static <T> T read(String json, ObjectReader reader, String typeName) {
+        if (json == null || json.isBlank()) return null;
+        try {
+            return reader.readValue(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot decode JSON into " + typeName, e);
+        }
+    }
+
+    /** Streaming parser over a response body; the parser owns (and closes) the stream. */
+    public static JsonParser parser(InputStream body) throws IOException {
+        return MAPPER.createParser(body);
+    }
+
+    /** Serializes a request body; Strings are assumed to be JSON already. */
+    public static String toJson(Object body) {
+        if (body == null || body instanceof String) return (String) body;
+        try {
+            return WRITERS.computeIfAbsent(body.getClass(), MAPPER::writerFor).writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize " + body.getClass().getSimpleName() + " to JSON", e);
+        }
+    }
+
     public static String getString(JsonNode node, String fieldName) {
         return node.path(fieldName).isMissingNode() || node.path(fieldName).isNull() ? null : node.path(fieldName).asText();
     }
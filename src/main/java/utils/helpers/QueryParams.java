@@ -1,8 +1,12 @@
 package utils.helpers;
 
 import utils.enums.QueryParamKey;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.StringJoiner;
 
 public final class QueryParams {
     private QueryParams(){}
@@ -12,4 +16,22 @@ public final class QueryParams {
         query.put(QueryParamKey.PASSWORD.getKey(), password);
         return query;
     }
+
+    public static Map<String, Object> forStatus(String status) {
+        Map<String, Object> query = new LinkedHashMap<>();
+        query.put(QueryParamKey.STATUS.getKey(), status);
+        return query;
+    }
+
+    /** "?key=value&..." with form-encoded keys and values, or "" when there is nothing to add. */
+    public static String toQueryString(Map<String, Object> queryParams) {
+        if (queryParams == null || queryParams.isEmpty()) return "";
+        StringJoiner query = new StringJoiner("&", "?", "");
+        queryParams.forEach((key, value) -> query.add(encode(key) + "=" + encode(String.valueOf(value))));
+        return query.toString();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
 }
@@ -0,0 +1,178 @@
+package utils.helpers;
+
+import config.Config;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Masks secrets in request/response bodies before they reach the report, in one left-to-right pass:
+ * - "Bearer &lt;token&gt;"               -> "Bearer ****"
+ * - emails                          -> first char + "***" + "@domain"
+ * - JSON fields by name (any case)  -> "field":"****" (string, number and boolean values)
+ * Text without anything to mask is returned as is, without copying.
+ * Field names come from API_MASK_FIELDS; instances are immutable and thread-safe.
+ */
+public final class SensitiveDataMasker {
+
+    private static final String MASK = "****";
+    private static final String EMAIL_MASK = "***";
+    private static final String BEARER = "Bearer";
+    private static final SensitiveDataMasker DEFAULT = new SensitiveDataMasker(Arrays.asList(Config.maskFields().split(",")));
+
+    private final String[] fieldNames;
+    private final int maxFieldNameLength;
+
+    public SensitiveDataMasker(Collection<String> fieldNames) {
+        this.fieldNames = fieldNames.stream()
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(name -> name.toLowerCase(Locale.ROOT))
+                .distinct()
+                .toArray(String[]::new);
+        this.maxFieldNameLength = Arrays.stream(this.fieldNames).mapToInt(String::length).max().orElse(0);
+    }
+
+    /** Masker configured from {@link Config#maskFields()}. */
+    public static SensitiveDataMasker defaults() { return DEFAULT; }
+
+    public String mask(String text) {
+        if (text == null || text.isEmpty()) return text;
+        Scan scan = new Scan(text);
+        int length = text.length();
+        int index = 0;
+        char previous = 0;
+        while (index < length) {
+            char character = text.charAt(index);
+            int next = switch (character) {
+                case '"' -> (previous == '{' || previous == ',') ? maskField(scan, index) : -1;
+                case '@' -> maskEmail(scan, index);
+                case 'B', 'b' -> maskBearer(scan, index);
+                default -> -1;
+            };
+            if (next < 0) {
+                if (!Character.isWhitespace(character)) previous = character;
+                index++;
+            } else {
+                previous = text.charAt(next - 1);
+                index = next;
+            }
+        }
+        return scan.result();
+    }
+
+    /** At a quote in key position: masks the value when the key is configured. Returns the index to resume from, or -1. */
+    private int maskField(Scan scan, int quote) {
+        String text = scan.text;
+        int keyStart = quote + 1;
+        int keyEnd = text.indexOf('"', keyStart);
+        if (keyEnd < 0 || keyEnd - keyStart > maxFieldNameLength || !isMaskedField(text, keyStart, keyEnd - keyStart)) {
+            return -1;
+        }
+        int colon = skipWhitespace(text, keyEnd + 1);
+        if (colon >= text.length() || text.charAt(colon) != ':') return -1;
+        int valueStart = skipWhitespace(text, colon + 1);
+        if (valueStart >= text.length()) return -1;
+
+        if (text.charAt(valueStart) == '"') {
+            int valueEnd = closingQuote(text, valueStart + 1);
+            if (valueEnd < 0) return -1;
+            scan.replace(valueStart + 1, valueEnd, MASK);
+            return valueEnd + 1;
+        }
+        int valueEnd = valueStart;
+        while (valueEnd < text.length() && isScalarChar(text.charAt(valueEnd))) valueEnd++;
+        if (valueEnd == valueStart || text.startsWith("null", valueStart)) return -1;
+        scan.replace(valueStart, valueEnd, '"' + MASK + '"');
+        return valueEnd;
+    }
+
+    /** At '@': keeps the first char of the local part and the domain, masks the rest of the local part. */
+    private static int maskEmail(Scan scan, int at) {
+        String text = scan.text;
+        int localStart = at;
+        while (localStart > scan.copied && isEmailLocalChar(text.charAt(localStart - 1))) localStart--;
+        int domainEnd = at + 1;
+        while (domainEnd < text.length() && isEmailDomainChar(text.charAt(domainEnd))) domainEnd++;
+        if (localStart == at || domainEnd == at + 1) return -1;
+        scan.replace(localStart + 1, at, EMAIL_MASK);
+        return domainEnd;
+    }
+
+    /** At 'B'/'b': "Bearer" + whitespace + token -> "Bearer ****". */
+    private static int maskBearer(Scan scan, int start) {
+        String text = scan.text;
+        if (!text.regionMatches(true, start, BEARER, 0, BEARER.length())) return -1;
+        int tokenStart = start + BEARER.length();
+        if (tokenStart >= text.length() || !Character.isWhitespace(text.charAt(tokenStart))) return -1;
+        tokenStart = skipWhitespace(text, tokenStart);
+        int tokenEnd = tokenStart;
+        while (tokenEnd < text.length() && isTokenChar(text.charAt(tokenEnd))) tokenEnd++;
+        if (tokenEnd == tokenStart) return -1;
+        scan.replace(start, tokenEnd, BEARER + " " + MASK);
+        return tokenEnd;
+    }
+
+    private boolean isMaskedField(String text, int offset, int length) {
+        for (String fieldName : fieldNames) {
+            if (fieldName.length() == length && text.regionMatches(true, offset, fieldName, 0, length)) return true;
+        }
+        return false;
+    }
+
+    private static int closingQuote(String text, int from) {
+        for (int index = from; index < text.length(); index++) {
+            char character = text.charAt(index);
+            if (character == '\\') index++;
+            else if (character == '"') return index;
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(String text, int from) {
+        int index = from;
+        while (index < text.length() && Character.isWhitespace(text.charAt(index))) index++;
+        return index;
+    }
+
+    private static boolean isScalarChar(char character) {
+        return Character.isLetterOrDigit(character) || character == '-' || character == '+' || character == '.';
+    }
+
+    private static boolean isEmailLocalChar(char character) {
+        return isWordChar(character) || character == '.' || character == '%' || character == '+' || character == '-';
+    }
+
+    private static boolean isEmailDomainChar(char character) {
+        return !Character.isWhitespace(character) && character != '"' && character != '\'';
+    }
+
+    private static boolean isTokenChar(char character) {
+        return isWordChar(character) || character == '.' || character == '-';
+    }
+
+    private static boolean isWordChar(char character) {
+        return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z')
+                || (character >= '0' && character <= '9') || character == '_';
+    }
+
+    /** Output is only allocated on the first replacement. */
+    private static final class Scan {
+        private final String text;
+        private StringBuilder out;
+        private int copied;
+
+        private Scan(String text) { this.text = text; }
+
+        private void replace(int from, int to, String replacement) {
+            if (out == null) out = new StringBuilder(text.length());
+            out.append(text, copied, from).append(replacement);
+            copied = to;
+        }
+
+        private String result() {
+            return out == null ? text : out.append(text, copied, text.length()).toString();
+        }
+    }
+}
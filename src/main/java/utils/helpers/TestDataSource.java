@@ -0,0 +1,68 @@
+package utils.helpers;
+
+import com.github.javafaker.Faker;
+import config.Config;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ids, Faker data and timestamps for one scope (a test method invocation, a data provider, a fixture owner).
+ *
+ * With API_CASSETTE_MODE=OFF ids come from one clock-based sequence (unique across parallel callers, which
+ * millisecond timestamps are not) and Faker is unseeded. With a cassette, every run has to send the same requests
+ * for REPLAY to find what RECORD stored, so ids, Faker and {@link #now()} are derived from the scope's name:
+ * the same scope draws the same values in the same order on every run.
+ */
+public final class TestDataSource {
+
+    private static final AtomicLong CLOCK_IDS = new AtomicLong(System.currentTimeMillis() * 1000);
+    private static final OffsetDateTime FIXED_NOW = OffsetDateTime.of(2024, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+    /** Scopes get disjoint id ranges of this size (up to hash collisions). */
+    private static final long IDS_PER_SCOPE = 1000;
+
+    private final AtomicLong ids;
+    private final Faker faker;
+    private final boolean seeded;
+
+    private TestDataSource(AtomicLong ids, Faker faker, boolean seeded) {
+        this.ids = ids;
+        this.faker = faker;
+        this.seeded = seeded;
+    }
+
+    /** Seeded from {@code scope} when a cassette is recorded or replayed, random otherwise. */
+    public static TestDataSource forScope(String scope) {
+        return "OFF".equalsIgnoreCase(Config.cassetteMode().trim()) ? random() : seeded(scope);
+    }
+
+    public static TestDataSource random() {
+        return new TestDataSource(CLOCK_IDS, new Faker(), false);
+    }
+
+    public static TestDataSource seeded(String scope) {
+        long seed = hash(scope);
+        long firstId = (1 + Math.floorMod(seed, 1_000_000_000L)) * IDS_PER_SCOPE;
+        return new TestDataSource(new AtomicLong(firstId), new Faker(new Random(seed)), true);
+    }
+
+    public long nextId() { return ids.incrementAndGet(); }
+
+    public Faker faker() { return faker; }
+
+    /** The current time, or a fixed one when seeded. */
+    public OffsetDateTime now() { return seeded ? FIXED_NOW : OffsetDateTime.now(); }
+
+    /** 64-bit FNV-1a: String.hashCode leaves too few bits for the id ranges. */
+    private static long hash(String scope) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte value : scope.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= value & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,184 @@
+package utils.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import com.fasterxml.jackson.core.type.TypeReference;
+import utils.enums.HttpMethod;
+import utils.helpers.JsonHelper;
+import utils.request.RequestObserver;
+import utils.request.path.IPath;
+import utils.request.resilience.CircuitBreaker;
+import utils.request.resilience.PathOverrides;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+
+/**
+ * Suite-wide latency metrics: one HDR histogram (nanosecond values, 3 significant digits) per
+ * HTTP method + ApiPath, plus retry count and status distribution. Fed by every HTTP attempt via
+ * {@link utils.request.RequestObservers}; dumped as JSON/CSV at suite end by BaseApiTest.
+ * Circuit breaker transitions are kept as a timeline next to the latency data.
+ * request-histograms.json carries the raw histograms, so results of several shards can be merged exactly.
+ */
+public final class RequestMetrics implements RequestObserver {
+
+    private static final RequestMetrics GLOBAL = new RequestMetrics();
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+    private static final String CSV_HEADER = "method,path,count,retries,p50_ms,p90_ms,p99_ms,p999_ms,max_ms,mean_ms,statuses";
+
+    private final Map<Key, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final List<BreakerTransition> breakerTransitions = new CopyOnWriteArrayList<>();
+
+    private RequestMetrics() {}
+
+    public static RequestMetrics global() { return GLOBAL; }
+
+    @Override
+    public void onExchange(HttpMethod method, IPath path, int statusCode, long durationNanos, int attempt) {
+        Endpoint endpoint = endpoints.computeIfAbsent(new Key(method, PathOverrides.keyOf(path)), key -> new Endpoint());
+        endpoint.latency.recordValue(Math.max(0, durationNanos));
+        if (attempt > 1) endpoint.retries.increment();
+        endpoint.statuses.computeIfAbsent(statusCode, status -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void onBreakerTransition(String breaker, CircuitBreaker.State from, CircuitBreaker.State to) {
+        breakerTransitions.add(new BreakerTransition(Instant.now().toString(), breaker, from.name(), to.name()));
+    }
+
+    public List<BreakerTransition> breakerTransitions() { return List.copyOf(breakerTransitions); }
+
+    public List<EndpointSummary> snapshot() {
+        List<EndpointSummary> summaries = new ArrayList<>();
+        endpoints.forEach((key, endpoint) -> summaries.add(endpoint.summarize(key)));
+        summaries.sort(Comparator.comparing(EndpointSummary::path).thenComparing(EndpointSummary::method));
+        return summaries;
+    }
+
+    public String toCsv() {
+        StringBuilder csv = new StringBuilder(CSV_HEADER).append('\n');
+        for (EndpointSummary summary : snapshot()) {
+            csv.append(String.format(Locale.ROOT, "%s,%s,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,",
+                    summary.method(), summary.path(), summary.count(), summary.retries(), summary.p50Ms(),
+                    summary.p90Ms(), summary.p99Ms(), summary.p999Ms(), summary.maxMs(), summary.meanMs()));
+            StringBuilder statuses = new StringBuilder();
+            summary.statuses().forEach((status, count) -> statuses.append(statuses.isEmpty() ? "" : " ").append(status).append('=').append(count));
+            csv.append(statuses).append('\n');
+        }
+        return csv.toString();
+    }
+
+    public String toJson() { return JsonHelper.toJson(snapshot()); }
+
+    /** Raw state per endpoint (histogram as base64 of HdrHistogram's compressed encoding). */
+    public List<HistogramDump> dump() {
+        List<HistogramDump> dumps = new ArrayList<>();
+        endpoints.forEach((key, endpoint) -> {
+            Histogram copy = endpoint.latency.copy();
+            ByteBuffer buffer = ByteBuffer.allocate(copy.getNeededByteBufferCapacity());
+            copy.encodeIntoCompressedByteBuffer(buffer);
+            buffer.flip();
+            byte[] encoded = new byte[buffer.remaining()];
+            buffer.get(encoded);
+            Map<Integer, Long> statusCounts = new TreeMap<>();
+            endpoint.statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+            dumps.add(new HistogramDump(key.method().name(), key.path(), endpoint.retries.sum(), statusCounts,
+                    Base64.getEncoder().encodeToString(encoded)));
+        });
+        return dumps;
+    }
+
+    /** Adds another run's {@link #dump()} (e.g. from a shard's request-histograms.json) to these metrics. */
+    public void merge(List<HistogramDump> dumps) {
+        for (HistogramDump dump : dumps) {
+            Endpoint endpoint = endpoints.computeIfAbsent(new Key(HttpMethod.valueOf(dump.method()), dump.path()), key -> new Endpoint());
+            try {
+                endpoint.latency.add(Histogram.decodeFromCompressedByteBuffer(
+                        ByteBuffer.wrap(Base64.getDecoder().decode(dump.histogram())), 0));
+            } catch (DataFormatException broken) {
+                throw new IllegalArgumentException("Corrupt histogram for " + dump.method() + " " + dump.path(), broken);
+            }
+            endpoint.retries.add(dump.retries());
+            dump.statuses().forEach((status, count) -> endpoint.statuses.computeIfAbsent(status, ignored -> new LongAdder()).add(count));
+        }
+    }
+
+    public void mergeBreakerTransitions(List<BreakerTransition> transitions) {
+        breakerTransitions.addAll(transitions);
+        List<BreakerTransition> sorted = new ArrayList<>(breakerTransitions);
+        sorted.sort(Comparator.comparing(BreakerTransition::at));
+        breakerTransitions.clear();
+        breakerTransitions.addAll(sorted);
+    }
+
+    /** Reads request-histograms.json and circuit-breakers.json written by {@link #writeSummary} into these metrics. */
+    public void mergeFrom(Path directory) throws IOException {
+        Path histograms = directory.resolve("request-histograms.json");
+        if (Files.exists(histograms)) {
+            merge(JsonHelper.read(Files.readString(histograms), new TypeReference<List<HistogramDump>>() { }));
+        }
+        Path breakers = directory.resolve("circuit-breakers.json");
+        if (Files.exists(breakers)) {
+            mergeBreakerTransitions(JsonHelper.read(Files.readString(breakers), new TypeReference<List<BreakerTransition>>() { }));
+        }
+    }
+
+    /** Writes request-metrics.json/.csv, request-histograms.json and circuit-breakers.json; returns the CSV for reporting. */
+    public String writeSummary(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        String csv = toCsv();
+        Files.writeString(directory.resolve("request-metrics.json"), toJson());
+        Files.writeString(directory.resolve("request-histograms.json"), JsonHelper.toJson(dump()));
+        Files.writeString(directory.resolve("request-metrics.csv"), csv);
+        Files.writeString(directory.resolve("circuit-breakers.json"), JsonHelper.toJson(breakerTransitions()));
+        return csv;
+    }
+
+    public void reset() {
+        endpoints.clear();
+        breakerTransitions.clear();
+    }
+
+    private static double millis(double nanos) { return nanos / NANOS_PER_MILLI; }
+
+    private record Key(HttpMethod method, String path) { }
+
+    public record BreakerTransition(String at, String breaker, String from, String to) { }
+
+    public record HistogramDump(String method, String path, long retries, Map<Integer, Long> statuses, String histogram) { }
+
+    public record EndpointSummary(String method, String path, long count, long retries,
+                                  double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs, double meanMs,
+                                  Map<Integer, Long> statuses) { }
+
+    private static final class Endpoint {
+        private final Histogram latency = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final LongAdder retries = new LongAdder();
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        private EndpointSummary summarize(Key key) {
+            Histogram copy = latency.copy();
+            Map<Integer, Long> statusCounts = new TreeMap<>();
+            statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+            return new EndpointSummary(key.method().name(), key.path(), copy.getTotalCount(), retries.sum(),
+                    millis(copy.getValueAtPercentile(50)), millis(copy.getValueAtPercentile(90)),
+                    millis(copy.getValueAtPercentile(99)), millis(copy.getValueAtPercentile(99.9)),
+                    millis(copy.getMaxValue()), millis(copy.getMean()), statusCounts);
+        }
+    }
+}
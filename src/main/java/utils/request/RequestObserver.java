@@ -0,0 +1,14 @@
+package utils.request;
+
+import utils.enums.HttpMethod;
+import utils.request.path.IPath;
+import utils.request.resilience.CircuitBreaker;
+
+/** Callback invoked once per HTTP attempt (retries included) with its wall-clock duration. */
+@FunctionalInterface
+public interface RequestObserver {
+    void onExchange(HttpMethod method, IPath path, int statusCode, long durationNanos, int attempt);
+
+    /** A circuit breaker (named "host path") changed state. */
+    default void onBreakerTransition(String breaker, CircuitBreaker.State from, CircuitBreaker.State to) { }
+}
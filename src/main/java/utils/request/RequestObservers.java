@@ -0,0 +1,40 @@
+package utils.request;
+
+import utils.enums.HttpMethod;
+import utils.metrics.RequestMetrics;
+import utils.request.path.IPath;
+import utils.request.resilience.CircuitBreaker;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/** JVM-wide registry of {@link RequestObserver}s notified by the HTTP clients; suite-wide metrics are always on. */
+public final class RequestObservers {
+    private static final List<RequestObserver> OBSERVERS = new CopyOnWriteArrayList<>(List.of(RequestMetrics.global()));
+
+    private RequestObservers() {}
+
+    public static void register(RequestObserver observer) { OBSERVERS.add(observer); }
+
+    public static void unregister(RequestObserver observer) { OBSERVERS.remove(observer); }
+
+    public static void notifyExchange(HttpMethod method, IPath path, int statusCode, long durationNanos, int attempt) {
+        for (RequestObserver observer : OBSERVERS) {
+            try {
+                observer.onExchange(method, path, statusCode, durationNanos, attempt);
+            } catch (RuntimeException ignored) {
+                // an observer must never fail the request it observes
+            }
+        }
+    }
+
+    public static void notifyBreakerTransition(String breaker, CircuitBreaker.State from, CircuitBreaker.State to) {
+        for (RequestObserver observer : OBSERVERS) {
+            try {
+                observer.onBreakerTransition(breaker, from, to);
+            } catch (RuntimeException ignored) {
+                // an observer must never fail the request it observes
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package utils.request.exception;
+
+/** Thrown without calling the server while the circuit breaker of the endpoint is open. */
+public class CircuitOpenException extends HttpsException {
+    public CircuitOpenException(String message){ super(message); }
+}
@@ -0,0 +1,205 @@
+package utils.request.http;
+
+import config.Config;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import utils.enums.HttpHeader;
+import utils.enums.HttpMethod;
+import utils.helpers.SensitiveDataMasker;
+import utils.request.exception.HttpsException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Record-and-replay of HTTP exchanges (API_CASSETTE_MODE = OFF | RECORD | REPLAY, file API_CASSETTE_FILE).
+ *
+ * RECORD appends every exchange to the cassette, response bodies masked by {@link SensitiveDataMasker} first.
+ * REPLAY memory-maps the cassette, indexes it once by key and answers from it without touching the network;
+ * a request that was not recorded fails. The key is method + formatted path + a hash of query and request
+ * body. A key seen several times (GET before and after a PUT) replays its responses in recorded order and
+ * then keeps repeating the last one.
+ *
+ * Test data has to be the same on every run for the keys to match: see {@link utils.helpers.TestDataSource}.
+ * Clients use the cassette configured for the run; {@link #open} gives a client one of its own (the round-trip flow).
+ *
+ * File: "PSC1", then per exchange: key, status, Content-Type, ETag, body; strings as int length + UTF-8
+ * (length -1 for null).
+ */
+public final class Cassette implements Closeable {
+
+    public enum Mode { OFF, RECORD, REPLAY }
+
+    private static final byte[] MAGIC = "PSC1".getBytes(StandardCharsets.US_ASCII);
+    private static final int KEY_HASH_BYTES = 8;
+    private static final SensitiveDataMasker MASKER = SensitiveDataMasker.defaults();
+    private static final Cassette INSTANCE = new Cassette(Mode.valueOf(Config.cassetteMode().trim().toUpperCase(Locale.ROOT)),
+            Path.of(Config.cassetteFile()));
+
+    private final Mode mode;
+    private final Path file;
+    private FileChannel writer;
+    private Map<String, List<Integer>> index;
+    private MappedByteBuffer mapped;
+    private final Map<String, AtomicInteger> replayed = new ConcurrentHashMap<>();
+
+    private Cassette(Mode mode, Path file) {
+        this.mode = mode;
+        this.file = file;
+    }
+
+    static Cassette get() { return INSTANCE; }
+
+    /** A cassette other than the configured one; RECORD truncates {@code file} on the first exchange. */
+    public static Cassette open(Mode mode, Path file) { return new Cassette(mode, file); }
+
+    boolean isActive() { return mode != Mode.OFF; }
+
+    boolean isReplaying() { return mode == Mode.REPLAY; }
+
+    static String key(HttpMethod method, String formattedPath, String query, String body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(query).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(body).getBytes(StandardCharsets.UTF_8));
+            byte[] hash = digest.digest();
+            return method + " " + formattedPath + " #" + HexFormat.of().formatHex(hash, 0, KEY_HASH_BYTES);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /** RestAssured exchanges (raw calls): recorded or replayed as a whole. */
+    Response exchange(String key, Supplier<Response> call) {
+        if (mode == Mode.REPLAY) return replay(key).toResponse();
+        Response response = call.get();
+        if (mode == Mode.RECORD) {
+            record(key, response.statusCode(), response.getHeader(HttpHeader.CONTENT_TYPE.getKey()),
+                    response.getHeader(HttpHeader.ETAG.getKey()), response.asString());
+        }
+        return response;
+    }
+
+    synchronized void record(String key, int statusCode, String contentType, String etag, String body) {
+        byte[][] fields = { bytes(key), bytes(contentType), bytes(etag), bytes(MASKER.mask(body)) };
+        int size = Integer.BYTES;
+        for (byte[] field : fields) size += Integer.BYTES + (field == null ? 0 : field.length);
+        ByteBuffer record = ByteBuffer.allocate(size);
+        put(record, fields[0]);
+        record.putInt(statusCode);
+        put(record, fields[1]);
+        put(record, fields[2]);
+        put(record, fields[3]);
+        try {
+            if (writer == null) {
+                if (file.getParent() != null) Files.createDirectories(file.getParent());
+                writer = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                writer.write(ByteBuffer.wrap(MAGIC));
+            }
+            writer.write(record.flip());
+        } catch (IOException exception) {
+            throw new HttpsException("Cannot write cassette " + file, exception);
+        }
+    }
+
+    /** Ends a recording; the file can then be opened for REPLAY. */
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer == null) return;
+        writer.close();
+        writer = null;
+    }
+
+    Recorded replay(String key) {
+        List<Integer> offsets = index().get(key);
+        if (offsets == null) {
+            throw new HttpsException("Cassette " + file + " has no recorded response for " + key
+                    + " (record it with API_CASSETTE_MODE=RECORD)");
+        }
+        int occurrence = replayed.computeIfAbsent(key, ignored -> new AtomicInteger()).getAndIncrement();
+        ByteBuffer record = mapped.duplicate().position(offsets.get(Math.min(occurrence, offsets.size() - 1)));
+        int statusCode = record.getInt();
+        return new Recorded(statusCode, string(record), string(record), string(record));
+    }
+
+    /** Maps the cassette and indexes it on first use: one pass over the keys, bodies are only decoded on replay. */
+    private synchronized Map<String, List<Integer>> index() {
+        if (index != null) return index;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException exception) {
+            throw new HttpsException("Cannot open cassette " + file + " (record it with API_CASSETTE_MODE=RECORD)", exception);
+        }
+        ByteBuffer scan = mapped.duplicate();
+        byte[] magic = new byte[MAGIC.length];
+        if (scan.remaining() >= MAGIC.length) scan.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) throw new HttpsException("Not a cassette: " + file);
+        Map<String, List<Integer>> offsets = new ConcurrentHashMap<>();
+        while (scan.hasRemaining()) {
+            String key = string(scan);
+            offsets.computeIfAbsent(key, ignored -> new ArrayList<>()).add(scan.position());
+            scan.position(scan.position() + Integer.BYTES);
+            for (int skipped = 0; skipped < 3; skipped++) skip(scan);
+        }
+        index = offsets;
+        return index;
+    }
+
+    private static byte[] bytes(String value) { return value == null ? null : value.getBytes(StandardCharsets.UTF_8); }
+
+    private static void put(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length).put(value);
+        }
+    }
+
+    private static String string(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) return null;
+        String value = StandardCharsets.UTF_8.decode(buffer.slice(buffer.position(), length)).toString();
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static void skip(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length > 0) buffer.position(buffer.position() + length);
+    }
+
+    /** A recorded response. */
+    record Recorded(int statusCode, String contentType, String etag, String body) {
+        String header(String name) {
+            if (HttpHeader.CONTENT_TYPE.getKey().equalsIgnoreCase(name)) return contentType;
+            if (HttpHeader.ETAG.getKey().equalsIgnoreCase(name)) return etag;
+            return null;
+        }
+
+        Response toResponse() {
+            ResponseBuilder builder = new ResponseBuilder().setStatusCode(statusCode).setBody(body == null ? "" : body);
+            if (contentType != null) builder.setContentType(contentType);
+            if (etag != null) builder.setHeader(HttpHeader.ETAG.getKey(), etag);
+            return builder.build();
+        }
+    }
+}
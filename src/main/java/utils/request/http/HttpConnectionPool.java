@@ -0,0 +1,147 @@
+package utils.request.http;
+
+import config.Config;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.response.Response;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import utils.request.exception.HttpsException;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide HTTP connection pool shared by {@link JsonHttpClient}, {@link MultipartHttpClient}
+ * and the JDK client behind the async API.
+ *
+ * The relaxed SSL context is built once; RestAssured gets a prebuilt config whose Apache client is
+ * reused by every request instead of a new client + SSL socket factory per call.
+ * Sizing and timeouts come from {@link Config} (API_POOL_*).
+ *
+ * The Apache client is built with the pre-4.3 API on purpose: RestAssured 5 only accepts an AbstractHttpClient
+ * from httpClientFactory and rejects HttpClientBuilder's clients, so its deprecation warnings are suppressed here.
+ */
+@SuppressWarnings("deprecation")
+final class HttpConnectionPool {
+
+    private static final int HTTP_PORT = 80;
+    private static final int HTTPS_PORT = 443;
+
+    private static final SSLContext SSL_CONTEXT = relaxedSslContext();
+    private static final PoolingClientConnectionManager CONNECTION_MANAGER = connectionManager();
+    private static final DefaultHttpClient APACHE_CLIENT = apacheClient();
+    private static final RestAssuredConfig REST_ASSURED_CONFIG = RestAssuredConfig.config()
+            .httpClient(HttpClientConfig.httpClientConfig()
+                    .httpClientFactory(() -> APACHE_CLIENT)
+                    .reuseHttpClientInstance());
+
+    /** RestAssured exchanges from virtual threads; never more than a route's pool size, see {@link #leased}. */
+    private static final Semaphore VIRTUAL_THREAD_LEASES = new Semaphore(Math.max(1, Config.poolMaxPerRoute()), true);
+
+    static {
+        startIdleEviction();
+    }
+
+    private HttpConnectionPool() {}
+
+    static RestAssuredConfig restAssuredConfig() { return REST_ASSURED_CONFIG; }
+
+    static SSLContext sslContext() { return SSL_CONTEXT; }
+
+    /**
+     * Runs a RestAssured exchange and reads its body, which hands the connection back to the pool. Apache waits
+     * for a free pooled connection while holding a monitor, which pins a virtual thread to its carrier: once every
+     * carrier is pinned that way, no exchange can finish and return its connection. Virtual threads therefore queue
+     * here first (no pinning) and hold a lease until their connection is back. Platform threads go straight to the pool.
+     */
+    static Response leased(Supplier<Response> exchange) {
+        if (!Thread.currentThread().isVirtual()) return exchange.get();
+        try {
+            VIRTUAL_THREAD_LEASES.acquire();
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw new HttpsException("Interrupted while waiting for a pooled connection", interrupted);
+        }
+        try {
+            Response response = exchange.get();
+            response.asByteArray();
+            return response;
+        } finally {
+            VIRTUAL_THREAD_LEASES.release();
+        }
+    }
+
+    /** The JDK client reads its pool settings from system properties once, when its first instance is built. */
+    static void applyJdkClientSettings() {
+        System.getProperties().putIfAbsent("jdk.httpclient.keepalive.timeout",
+                String.valueOf(Math.max(1, TimeUnit.MILLISECONDS.toSeconds(Config.poolKeepAliveMillis()))));
+        System.getProperties().putIfAbsent("jdk.httpclient.connectionPoolSize", String.valueOf(Config.poolMaxTotal()));
+    }
+
+    private static PoolingClientConnectionManager connectionManager() {
+        SchemeRegistry schemes = new SchemeRegistry();
+        schemes.register(new Scheme("http", HTTP_PORT, PlainSocketFactory.getSocketFactory()));
+        schemes.register(new Scheme("https", HTTPS_PORT,
+                new SSLSocketFactory(SSL_CONTEXT, SSLSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER)));
+
+        PoolingClientConnectionManager manager = new PoolingClientConnectionManager(schemes);
+        manager.setMaxTotal(Config.poolMaxTotal());
+        manager.setDefaultMaxPerRoute(Config.poolMaxPerRoute());
+        return manager;
+    }
+
+    private static DefaultHttpClient apacheClient() {
+        DefaultHttpClient client = new DefaultHttpClient(CONNECTION_MANAGER);
+        long keepAliveMillis = Config.poolKeepAliveMillis();
+        client.setKeepAliveStrategy((response, context) -> keepAliveMillis);
+        return client;
+    }
+
+    /** API_POOL_IDLE_EVICT_MS <= 0 turns eviction off. */
+    private static void startIdleEviction() {
+        long idleMillis = Config.poolIdleEvictMillis();
+        if (idleMillis <= 0) return;
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(() -> {
+            CONNECTION_MANAGER.closeExpiredConnections();
+            CONNECTION_MANAGER.closeIdleConnections(idleMillis, TimeUnit.MILLISECONDS);
+        }, idleMillis, idleMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Trusts every certificate, like RestAssured's relaxedHTTPSValidation(). Host names differ: the Apache client
+     * accepts any, the JDK client still checks them against the certificate (that check is only switchable JVM-wide).
+     */
+    private static SSLContext relaxedSslContext() {
+        TrustManager[] trustAll = { new X509TrustManager() {
+            @Override public void checkClientTrusted(X509Certificate[] chain, String authType) { }
+            @Override public void checkServerTrusted(X509Certificate[] chain, String authType) { }
+            @Override public X509Certificate[] getAcceptedIssuers() { return new X509Certificate[0]; }
+        } };
+        try {
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, trustAll, new SecureRandom());
+            return context;
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("Cannot initialise relaxed SSL context", exception);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package utils.request.http;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import io.restassured.response.Response;
 import org.testng.internal.collections.Pair;
 import utils.request.Headers;
@@ -8,6 +9,7 @@ import utils.request.path.IPath;
 import java.io.File;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Backward-compatible facade. Internally delegates to two focused clients:
@@ -18,8 +20,18 @@ import java.util.Map;
  */
 public class HttpRequest {
 
-    private final JsonHttpClient json = new JsonHttpClient();
-    private final MultipartHttpClient multipart = new MultipartHttpClient();
+    private final JsonHttpClient json;
+    private final MultipartHttpClient multipart;
+
+    public HttpRequest() {
+        this(Cassette.get());
+    }
+
+    /** Records to or replays from {@code cassette} instead of the one configured by API_CASSETTE_MODE. */
+    public HttpRequest(Cassette cassette) {
+        this.json = new JsonHttpClient(cassette);
+        this.multipart = new MultipartHttpClient(cassette);
+    }
 
     public String getRequest(Headers customHeaders, IPath path, String... pathParams) {
         return json.getRequest(customHeaders, path, pathParams);
@@ -45,6 +57,47 @@ public class HttpRequest {
         return json.getWithQuery(customHeaders, pathTemplate, queryParams, pathParams);
     }
 
+    public <T> T getRequest(Headers customHeaders, IPath path, Class<T> responseType, String... pathParams) {
+        return json.getRequest(customHeaders, path, responseType, pathParams);
+    }
+
+    public <T> T getRequest(Headers customHeaders, IPath path, TypeReference<T> responseType, String... pathParams) {
+        return json.getRequest(customHeaders, path, responseType, pathParams);
+    }
+
+    public <T> T postRequest(Headers customHeaders, Object requestBody, IPath path, Class<T> responseType, String... pathParams) {
+        return json.postRequest(customHeaders, requestBody, path, responseType, pathParams);
+    }
+
+    public <T> T putRequest(Headers customHeaders, Object requestBody, IPath path, Class<T> responseType, String... pathParams) {
+        return json.putRequest(customHeaders, requestBody, path, responseType, pathParams);
+    }
+
+    public <T> CompletableFuture<T> getAsync(Headers customHeaders, IPath path, Class<T> responseType, String... pathParams) {
+        return json.getAsync(customHeaders, path, responseType, pathParams);
+    }
+
+    public CompletableFuture<String> getAsync(Headers customHeaders, IPath path, String... pathParams) {
+        return json.getAsync(customHeaders, path, pathParams);
+    }
+
+    public CompletableFuture<String> postAsync(Headers customHeaders, Object requestBody, IPath path, String... pathParams) {
+        return json.postAsync(customHeaders, requestBody, path, pathParams);
+    }
+
+    public CompletableFuture<String> putAsync(Headers customHeaders, Object requestBody, IPath path, String... pathParams) {
+        return json.putAsync(customHeaders, requestBody, path, pathParams);
+    }
+
+    public CompletableFuture<String> deleteAsync(Headers customHeaders, IPath path, String... pathParams) {
+        return json.deleteAsync(customHeaders, path, pathParams);
+    }
+
+    public <T> T getStreaming(Headers customHeaders, IPath path, Map<String, Object> queryParams,
+                              ResponseReader<T> reader, String... pathParams) {
+        return json.getStreaming(customHeaders, path, queryParams, reader, pathParams);
+    }
+
     public Response getRaw(Headers customHeaders, IPath pathTemplate, Map<String, Object> queryParams, String... pathParams) {
         return json.getRaw(customHeaders, pathTemplate, queryParams, pathParams);
     }
@@ -56,7 +109,11 @@ public class HttpRequest {
     public String postRequestForUploadFile(String fileToken,
                                            List<Pair<String, File>> filePairsList,
                                            List<Pair<String, String>> stringPairsList,
-                                           String endpoint) {
-        return multipart.postMultipart(fileToken, filePairsList, stringPairsList, endpoint);
+                                           IPath pathTemplate, String... pathParams) {
+        return multipart.postMultipart(fileToken, new MultipartHttpClient.Upload(pathTemplate, filePairsList, stringPairsList, pathParams));
+    }
+
+    public List<String> postRequestsForUploadFiles(String fileToken, List<MultipartHttpClient.Upload> uploads) {
+        return multipart.postMultipartAll(fileToken, uploads);
     }
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package utils.request.http;
+
+import config.Config;
+import core.TestStepLogger;
+import utils.enums.HttpMethod;
+import utils.request.exception.HttpsException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transport on top of the JDK {@link HttpClient}: non-blocking calls for the async API and
+ * blocking calls whose body is read straight from the socket for the streaming API.
+ * One client per JVM: it owns the connection pool and the selector thread.
+ *
+ * With API_HTTP_VERSION=HTTP_2 the client negotiates h2 over TLS (ALPN) and tries the h2c upgrade on
+ * plain http; concurrent requests to a host then share one connection as separate streams. Servers
+ * without HTTP/2 are still spoken to over HTTP/1.1. The blocking JSON API uses this transport too
+ * (see {@link #handlesBlockingCalls()}), since RestAssured's client is HTTP/1.1 only.
+ */
+final class JdkHttpTransport {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final HttpClient.Version VERSION = version(Config.httpVersion());
+    private static final HttpClient CLIENT = newClient();
+
+    private JdkHttpTransport() {}
+
+    /**
+     * True when the blocking JSON API should go through this transport instead of RestAssured: HTTP/2 configured,
+     * or the virtual-thread run mode, where flows beyond the Apache pool size would queue on it (see
+     * {@link HttpConnectionPool#leased}) while this client does not pin the carrier threads.
+     */
+    static boolean handlesBlockingCalls() { return VERSION == HttpClient.Version.HTTP_2 || Config.virtualThreads(); }
+
+    /**
+     * API_HTTP_VERSION as a client version ("HTTP/2" reads as HTTP_2). An unknown value falls back to HTTP/1.1 with
+     * a warning: failing here would fail the class initialization and every HTTP call after it.
+     */
+    static HttpClient.Version version(String configured) {
+        String name = configured == null ? "" : configured.trim().toUpperCase(Locale.ROOT).replace('/', '_').replace('.', '_');
+        for (HttpClient.Version version : HttpClient.Version.values()) {
+            if (version.name().equals(name)) return version;
+        }
+        TestStepLogger.console("WARNING: API_HTTP_VERSION='" + configured + "' is not one of "
+                + Arrays.toString(HttpClient.Version.values()) + ", using HTTP_1_1");
+        return HttpClient.Version.HTTP_1_1;
+    }
+
+    static CompletableFuture<HttpResponse<String>> send(HttpMethod method, String url,
+                                                        Map<String, Object> headers, String body) {
+        return CLIENT.sendAsync(request(method, url, headers, body), BodyHandlers.ofString());
+    }
+
+    /** Blocks until the whole response has been read. */
+    static HttpResponse<String> sendBlocking(HttpMethod method, String url, Map<String, Object> headers, String body) {
+        return execute(method, url, request(method, url, headers, body), BodyHandlers.ofString());
+    }
+
+    /** Blocks until the response headers arrive; the caller must consume or close the body stream. */
+    static HttpResponse<InputStream> sendStreaming(HttpMethod method, String url,
+                                                   Map<String, Object> headers, String body) {
+        return execute(method, url, request(method, url, headers, body), BodyHandlers.ofInputStream());
+    }
+
+    /** Sends a prebuilt body (streamed multipart); the response body is read as a String. */
+    static CompletableFuture<HttpResponse<String>> send(HttpMethod method, String url,
+                                                        Map<String, Object> headers, BodyPublisher body) {
+        return CLIENT.sendAsync(request(method, url, headers, body), BodyHandlers.ofString());
+    }
+
+    private static <T> HttpResponse<T> execute(HttpMethod method, String url, java.net.http.HttpRequest request,
+                                               HttpResponse.BodyHandler<T> handler) {
+        try {
+            return CLIENT.send(request, handler);
+        } catch (IOException exception) {
+            throw new HttpsException(method + " " + url + " failed: " + exception.getMessage(), exception);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new HttpsException(method + " " + url + " interrupted", exception);
+        }
+    }
+
+    private static java.net.http.HttpRequest request(HttpMethod method, String url, Map<String, Object> headers, String body) {
+        return request(method, url, headers, publisher(body));
+    }
+
+    private static java.net.http.HttpRequest request(HttpMethod method, String url, Map<String, Object> headers, BodyPublisher body) {
+        java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .method(method.name(), body);
+        headers.forEach((name, value) -> builder.setHeader(name, String.valueOf(value)));
+        return builder.build();
+    }
+
+    private static HttpClient newClient() {
+        HttpConnectionPool.applyJdkClientSettings();
+        return HttpClient.newBuilder()
+                .version(VERSION)
+                .connectTimeout(CONNECT_TIMEOUT)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .sslContext(HttpConnectionPool.sslContext())
+                .build();
+    }
+
+    private static BodyPublisher publisher(String body) {
+        return body == null ? BodyPublishers.noBody() : BodyPublishers.ofString(body);
+    }
+}
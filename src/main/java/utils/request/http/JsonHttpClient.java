@@ -1,26 +1,50 @@
 package utils.request.http;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
 import config.Config;
-import io.restassured.RestAssured;
-import io.restassured.config.SSLConfig;
+import core.TestStepLogger;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
+import utils.AllureAttachmentWriter;
 import utils.enums.HttpHeader;
 import utils.enums.HttpMethod;
+import utils.enums.HttpStatusCode;
 import utils.enums.HttpStatusGroup;
 import utils.enums.MediaType;
+import utils.helpers.JsonHelper;
+import utils.helpers.QueryParams;
+import utils.helpers.SensitiveDataMasker;
 import utils.request.Headers;
+import utils.request.RequestObservers;
 import utils.request.exception.HttpsException;
 import utils.request.path.IPath;
-
+import utils.request.resilience.CircuitBreaker;
+import utils.request.resilience.CircuitBreakers;
+import utils.request.resilience.GuardedCall;
+import utils.request.resilience.RequestGovernor;
+import utils.request.resilience.RetryPolicy;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 import static io.restassured.RestAssured.given;
-import static utils.AllureUtils.addAttachmentToReport;
+import static utils.AllureUtils.attachmentsEnabled;
 import static utils.AllureUtils.getAllureReportMessage;
 import static utils.helpers.WaitHelper.justWait;
 
@@ -28,13 +52,19 @@ public class JsonHttpClient {
 
     private final String baseApiUrl = Config.baseApiUrl();
     private final boolean consoleLogEnabled = Config.consoleLog();
-    private final long defaultTimeoutInMilliseconds = 1000L;
+    private final String baseHost = CircuitBreakers.hostOf(baseApiUrl);
+    private final Cassette cassette;
 
-    private static final Set<Integer> RETRYABLE_CODES = HttpStatusGroup.RETRYABLE_CODES;
     private static final Set<Integer> SUCCESS_CODES = HttpStatusGroup.SUCCESS_CODES;
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+    private static final SensitiveDataMasker MASKER = SensitiveDataMasker.defaults();
 
     public JsonHttpClient() {
-        RestAssured.config = RestAssured.config().sslConfig(SSLConfig.sslConfig().allowAllHostnames());
+        this(Cassette.get());
+    }
+
+    public JsonHttpClient(Cassette cassette) {
+        this.cassette = cassette;
     }
 
     // ---------- Public JSON API (String responses) ----------
@@ -64,15 +94,130 @@ public class JsonHttpClient {
         return sendRequest(HttpMethod.DELETE, baseApiUrl, customHeaders, null, pathTemplate, null, pathParams);
     }
 
+    // ---------- Public JSON API (typed responses, decoded by cached readers) ----------
+
+    public <T> T getRequest(Headers customHeaders, IPath pathTemplate, Class<T> responseType, String... pathParams) {
+        return decode(HttpMethod.GET, pathTemplate, pathParams, getRequest(customHeaders, pathTemplate, pathParams), responseType);
+    }
+
+    public <T> T getRequest(Headers customHeaders, IPath pathTemplate, TypeReference<T> responseType, String... pathParams) {
+        String body = getRequest(customHeaders, pathTemplate, pathParams);
+        requireBody(HttpMethod.GET, pathTemplate, pathParams, body, responseType.getType().getTypeName());
+        return JsonHelper.read(body, responseType);
+    }
+
+    public <T> T postRequest(Headers customHeaders, Object requestBody, IPath pathTemplate,
+                             Class<T> responseType, String... pathParams) {
+        return decode(HttpMethod.POST, pathTemplate, pathParams, postRequest(customHeaders, requestBody, pathTemplate, pathParams), responseType);
+    }
+
+    public <T> T putRequest(Headers customHeaders, Object requestBody, IPath pathTemplate,
+                            Class<T> responseType, String... pathParams) {
+        return decode(HttpMethod.PUT, pathTemplate, pathParams, putRequest(customHeaders, requestBody, pathTemplate, pathParams), responseType);
+    }
+
+    // ---------- Public JSON API (non-blocking) ----------
+
+    public CompletableFuture<String> getAsync(Headers customHeaders, IPath pathTemplate, String... pathParams) {
+        return sendRequestAsync(HttpMethod.GET, baseApiUrl, customHeaders, null, pathTemplate, pathParams);
+    }
+
+    public <T> CompletableFuture<T> getAsync(Headers customHeaders, IPath pathTemplate, Class<T> responseType, String... pathParams) {
+        return getAsync(customHeaders, pathTemplate, pathParams).thenApply(body -> decode(HttpMethod.GET, pathTemplate, pathParams, body, responseType));
+    }
+
+    public CompletableFuture<String> postAsync(Headers customHeaders, Object requestBody, IPath pathTemplate, String... pathParams) {
+        return sendRequestAsync(HttpMethod.POST, baseApiUrl, customHeaders, requestBody, pathTemplate, pathParams);
+    }
+
+    public CompletableFuture<String> putAsync(Headers customHeaders, Object requestBody, IPath pathTemplate, String... pathParams) {
+        return sendRequestAsync(HttpMethod.PUT, baseApiUrl, customHeaders, requestBody, pathTemplate, pathParams);
+    }
+
+    public CompletableFuture<String> deleteAsync(Headers customHeaders, IPath pathTemplate, String... pathParams) {
+        return sendRequestAsync(HttpMethod.DELETE, baseApiUrl, customHeaders, null, pathTemplate, pathParams);
+    }
+
+    // ---------- Streaming API: body goes from the socket to the reader, never into a String ----------
+
+    /**
+     * GET whose successful body is handed to {@code reader} as a streaming JsonParser.
+     * Same retry rules as the String API; the recorded latency is time to response headers,
+     * and the Allure attachment carries the streamed size instead of the body.
+     */
+    public <T> T getStreaming(Headers customHeaders, IPath pathTemplate, Map<String, Object> queryParams,
+                              ResponseReader<T> reader, String... pathParams) {
+        if (cassette.isActive()) {
+            // cassettes hold whole bodies: record/replay through the buffered path, then read the same way
+            String body = sendRequest(HttpMethod.GET, baseApiUrl, customHeaders, null, pathTemplate, queryParams, pathParams);
+            try (JsonParser parser = JsonHelper.parser(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)))) {
+                return reader.read(parser);
+            } catch (IOException exception) {
+                throw new HttpsException("Failed to read recorded response of GET " + pathTemplate.url(), exception);
+            }
+        }
+        final String formattedPath = formatPath(pathTemplate, pathParams);
+        final String title = "GET " + formattedPath + " (streamed)";
+        final String url = baseApiUrl + formattedPath + QueryParams.toQueryString(queryParams);
+        final Map<String, Object> headers = mergedHeaders(customHeaders);
+
+        RetryPolicy.Attempts attempts = RetryPolicy.forPath(pathTemplate).start();
+        CircuitBreaker breaker = CircuitBreakers.forEndpoint(baseHost, pathTemplate);
+        RequestGovernor governor = RequestGovernor.forPath(pathTemplate);
+        HttpResponse<InputStream> response;
+
+        while (true) {
+            GuardedCall.Timed<HttpResponse<InputStream>> timed = GuardedCall.call(governor, breaker,
+                    () -> JdkHttpTransport.sendStreaming(HttpMethod.GET, url, headers, null), HttpResponse::statusCode);
+            response = timed.value();
+            long durationNanos = timed.durationNanos();
+            RequestObservers.notifyExchange(HttpMethod.GET, pathTemplate, response.statusCode(), durationNanos, attempts.attempt());
+
+            if (consoleLogEnabled) {
+                TestStepLogger.console("GET " + pathTemplate.getDescription() + " -> " + response.statusCode()
+                        + String.format(Locale.ROOT, " (%.1f ms to headers, streamed)", durationNanos / NANOS_PER_MILLI));
+            }
+            long delayMillis = attempts.nextDelayMillis(response.statusCode(),
+                    response.headers().firstValue(HttpHeader.RETRY_AFTER.getKey()).orElse(null));
+            if (delayMillis < 0) {
+                break;
+            }
+            closeQuietly(response.body());
+            logRetry(attempts, delayMillis);
+            justWait(delayMillis);
+        }
+
+        try (CountingInputStream body = new CountingInputStream(response.body())) {
+            if (!SUCCESS_CODES.contains(response.statusCode())) {
+                String errorBody = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+                attach(title, "(no body)", response.statusCode(), errorBody);
+                String contentType = response.headers().firstValue(HttpHeader.CONTENT_TYPE.getKey()).orElse("");
+                throw new HttpsException("Bad request: expected status_code = " + SUCCESS_CODES +
+                        ", actual = " + response.statusCode() + "\nError message:\n" + errorBody
+                        + htmlHint(contentType, errorBody));
+            }
+            T result;
+            try (JsonParser parser = JsonHelper.parser(body)) {
+                result = reader.read(parser);
+            }
+            attach(title, "(no body)", response.statusCode(), "(streamed " + body.count() + " bytes)");
+            return result;
+        } catch (IOException exception) {
+            throw new HttpsException("Failed to read streamed response of " + title, exception);
+        }
+    }
+
     /** Raw GET (no success check) — for negative flows. */
     public Response getRaw(Headers customHeaders, IPath pathTemplate,
                            Map<String, Object> queryParams, String... pathParams) {
         final String formattedPath = formatPath(pathTemplate, pathParams);
         RequestSpecification spec = baseSpec(customHeaders);
-        if (queryParams != null && !queryParams.isEmpty()) spec.queryParams(queryParams);
         if (consoleLogEnabled) spec.log().all();
 
-        Response response = spec.get(baseApiUrl + formattedPath);
+        final String query = QueryParams.toQueryString(queryParams);
+        long startNanos = System.nanoTime();
+        Response response = rawExchange(HttpMethod.GET, formattedPath, query, () -> spec.get(baseApiUrl + formattedPath + query));
+        RequestObservers.notifyExchange(HttpMethod.GET, pathTemplate, response.statusCode(), System.nanoTime() - startNanos, 1);
         try {
             String responseBody = response.then().extract().asString();
             attach("RAW GET " + formattedPath, "(no body)", response, responseBody);
@@ -83,10 +228,13 @@ public class JsonHttpClient {
     /** Raw DELETE (no success check) — for negative flows. */
     public Response deleteRaw(Headers customHeaders, IPath pathTemplate, String... pathParams) {
         final String formattedPath = formatPath(pathTemplate, pathParams);
+        ResponseCache.invalidate(formattedPath);
         RequestSpecification spec = baseSpec(customHeaders);
         if (consoleLogEnabled) spec.log().all();
 
-        Response response = spec.delete(baseApiUrl + formattedPath);
+        long startNanos = System.nanoTime();
+        Response response = rawExchange(HttpMethod.DELETE, formattedPath, "", () -> spec.delete(baseApiUrl + formattedPath));
+        RequestObservers.notifyExchange(HttpMethod.DELETE, pathTemplate, response.statusCode(), System.nanoTime() - startNanos, 1);
         try {
             String responseBody = response.then().extract().asString();
             attach("RAW DELETE " + formattedPath, "(no body)", response, responseBody);
@@ -106,60 +254,200 @@ public class JsonHttpClient {
 
         final String formattedPath = formatPath(pathTemplate, pathParams);
 
-        RequestSpecification spec = baseSpec(customHeaders);
-        if (queryParams != null && !queryParams.isEmpty()) spec.queryParams(queryParams);
-        if (requestBody != null) spec.body(requestBody);
-        if (consoleLogEnabled) spec.log().all();
+        final String query = QueryParams.toQueryString(queryParams);
+        final String url = baseUrl + formattedPath + query;
+        // serialized once: sent by the JDK transport, hashed into the cassette key, attached to the report
+        final String jsonBody = JsonHelper.toJson(requestBody);
+
+        if (httpMethod != HttpMethod.GET) ResponseCache.invalidate(formattedPath);
+        ResponseCache cache = httpMethod == HttpMethod.GET && requestBody == null ? ResponseCache.current() : null;
+        String cacheKey = cache == null ? null : ResponseCache.key(url, customHeaders);
+        ResponseCache.Entry cached = cache == null ? null : cache.get(cacheKey);
+        if (cached != null && cached.isFresh()) {
+            if (consoleLogEnabled) TestStepLogger.console("GET " + pathTemplate.getDescription() + " -> cached");
+            attach("GET " + formattedPath + " (cached)", null, cached.statusCode(), cached.body());
+            return cached.body();
+        }
 
-        Supplier<Response> call = () -> invoke(httpMethod, spec, baseUrl + formattedPath);
+        Map<String, Object> headers = mergedHeaders(customHeaders);
+        if (cached != null && cached.etag() != null) headers.put(HttpHeader.IF_NONE_MATCH.getKey(), cached.etag());
+
+        // RestAssured speaks HTTP/1.1 only and pins virtual threads on its pool; the JDK client covers both cases
+        Supplier<Reply> call;
+        if (JdkHttpTransport.handlesBlockingCalls()) {
+            if (consoleLogEnabled) TestStepLogger.console("Request: " + httpMethod + " " + url + (jsonBody == null ? "" : "\n" + jsonBody));
+            call = () -> Reply.of(JdkHttpTransport.sendBlocking(httpMethod, url, headers, jsonBody));
+        } else {
+            RequestSpecification spec = baseSpec(headers);
+            if (requestBody != null) spec.body(requestBody);
+            if (consoleLogEnabled) spec.log().all();
+            call = () -> Reply.of(HttpConnectionPool.leased(() -> invoke(httpMethod, spec, url)));
+        }
+        if (cassette.isActive()) {
+            call = throughCassette(Cassette.key(httpMethod, formattedPath, query, jsonBody), call);
+        }
 
-        int attempt = 0;
-        int maxAttempts = Math.max(0, Config.retryMax());
-        Response response;
+        RetryPolicy.Attempts attempts = RetryPolicy.forPath(pathTemplate).start();
+        CircuitBreaker breaker = CircuitBreakers.forEndpoint(baseHost, pathTemplate);
+        RequestGovernor governor = RequestGovernor.forPath(pathTemplate);
+        Reply response;
 
         while (true) {
-            attempt++;
-            response = call.get();
+            GuardedCall.Timed<Reply> timed = GuardedCall.call(governor, breaker, call, Reply::statusCode);
+            response = timed.value();
+            long durationNanos = timed.durationNanos();
+            RequestObservers.notifyExchange(httpMethod, pathTemplate, response.statusCode(), durationNanos, attempts.attempt());
 
             if (consoleLogEnabled) {
-                System.out.println(httpMethod + " " + pathTemplate.getDescription() + " -> " + response.statusCode());
+                TestStepLogger.console(httpMethod + " " + pathTemplate.getDescription() + " -> " + response.statusCode()
+                        + String.format(Locale.ROOT, " (%.1f ms)", durationNanos / NANOS_PER_MILLI));
             }
 
-            if (!RETRYABLE_CODES.contains(response.statusCode()) || attempt > maxAttempts) {
+            // Backoff with jitter, Retry-After, deadline and suite budget: see RetryPolicy
+            long delayMillis = attempts.nextDelayMillis(response.statusCode(), response.header(HttpHeader.RETRY_AFTER.getKey()));
+            if (delayMillis < 0) {
                 break;
             }
-
-            // Gentle backoff for conflict/ratelimit
-            if (isTransientFailure(response.statusCode())) {
-                justWait(defaultTimeoutInMilliseconds);
-            }
+            logRetry(attempts, delayMillis);
+            justWait(delayMillis);
         }
 
-        String requestBodyMasked = safeString(requestBody);
-        String responseBody = response.then().extract().asString();
-        attach(httpMethod + " " + formattedPath, requestBodyMasked, response, responseBody);
+        String responseBody = response.body();
+        if (cached != null && response.statusCode() == HttpStatusCode.NOT_MODIFIED.getStatusCode()) {
+            cache.refresh(cacheKey, cached);
+            attach("GET " + formattedPath + " (not modified, cached body)", null, response.statusCode(), cached.body());
+            return cached.body();
+        }
+        attach(httpMethod + " " + formattedPath, jsonBody, response.statusCode(), responseBody);
 
-        String contentType = Optional.ofNullable(response.getHeader(HttpHeader.CONTENT_TYPE.getKey())).orElse("");
-        boolean looksLikeHtml = contentType.contains(MediaType.TEXT_HTML.getValue()) || responseBody.startsWith("<!DOCTYPE");
-        String hint = looksLikeHtml ? "\nHint: Response is HTML — check BASE_URL vs endpoint." : "";
+        String contentType = Optional.ofNullable(response.header(HttpHeader.CONTENT_TYPE.getKey())).orElse("");
 
         if (!SUCCESS_CODES.contains(response.statusCode())) {
             throw new HttpsException("Bad request: expected status_code = " + SUCCESS_CODES +
-                    ", actual = " + response.statusCode() + "\nError message:\n" + responseBody + hint);
+                    ", actual = " + response.statusCode() + "\nError message:\n" + responseBody
+                    + htmlHint(contentType, responseBody));
         }
 
+        if (cache != null) {
+            cache.put(cacheKey, formattedPath, response.statusCode(), responseBody, response.header(HttpHeader.ETAG.getKey()));
+        }
         return responseBody;
     }
 
+    // ---------- Core async request: same retry policy & attachments as sendRequest ----------
+
+    private CompletableFuture<String> sendRequestAsync(HttpMethod httpMethod,
+                                                       String baseUrl,
+                                                       Headers customHeaders,
+                                                       Object requestBody,
+                                                       IPath pathTemplate,
+                                                       String... pathParams) {
+
+        final String formattedPath = formatPath(pathTemplate, pathParams);
+        final String title = httpMethod + " " + formattedPath;
+        final String url = baseUrl + formattedPath;
+        if (httpMethod != HttpMethod.GET) ResponseCache.invalidate(formattedPath);
+        final Map<String, Object> headers = mergedHeaders(customHeaders);
+        final String jsonBody = JsonHelper.toJson(requestBody);
+        final RetryPolicy.Attempts attempts = RetryPolicy.forPath(pathTemplate).start();
+        final CircuitBreaker breaker = CircuitBreakers.forEndpoint(baseHost, pathTemplate);
+        final RequestGovernor governor = RequestGovernor.forPath(pathTemplate);
+        // Registered on the caller's thread so it lands on the current Allure step
+        final AllureAttachmentWriter.Reservation attachment = AllureAttachmentWriter.get().reserve("HTTP: " + title);
+
+        final String cassetteKey = cassette.isActive() ? Cassette.key(httpMethod, formattedPath, "", jsonBody) : null;
+
+        return attemptAsync(httpMethod, url, headers, jsonBody, cassetteKey, pathTemplate, attempts, breaker, governor)
+                .whenComplete((response, error) -> {
+                    // a failed exchange still fills the reserved attachment, with the error instead of a body
+                    if (error != null && attachment.isActive()) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        attachment.complete(() -> getAllureReportMessage((Integer) null,
+                                "(no response: " + cause + ")", MASKER.mask(safeString(jsonBody)), title));
+                    }
+                })
+                .thenApply(response -> {
+                    String responseBody = response.body();
+                    if (attachment.isActive()) {
+                        int statusCode = response.statusCode();
+                        attachment.complete(() -> getAllureReportMessage(statusCode,
+                                MASKER.mask(responseBody), MASKER.mask(safeString(jsonBody)), title));
+                    }
+
+                    if (!SUCCESS_CODES.contains(response.statusCode())) {
+                        String contentType = Optional.ofNullable(response.header(HttpHeader.CONTENT_TYPE.getKey())).orElse("");
+                        throw new HttpsException("Bad request: expected status_code = " + SUCCESS_CODES +
+                                ", actual = " + response.statusCode() + "\nError message:\n" + responseBody
+                                + htmlHint(contentType, responseBody));
+                    }
+                    return responseBody;
+                });
+    }
+
+    private CompletableFuture<Reply> attemptAsync(HttpMethod httpMethod, String url,
+                                                 Map<String, Object> headers, String jsonBody, String cassetteKey,
+                                                 IPath pathTemplate, RetryPolicy.Attempts attempts,
+                                                 CircuitBreaker breaker, RequestGovernor governor) {
+        return GuardedCall.callAsync(governor, breaker,
+                () -> sendAsync(httpMethod, url, headers, jsonBody, cassetteKey), Reply::statusCode).thenCompose(timed -> {
+            Reply response = timed.value();
+            long durationNanos = timed.durationNanos();
+            RequestObservers.notifyExchange(httpMethod, pathTemplate, response.statusCode(), durationNanos, attempts.attempt());
+            if (consoleLogEnabled) {
+                TestStepLogger.console(httpMethod + " " + pathTemplate.getDescription() + " -> " + response.statusCode()
+                        + String.format(Locale.ROOT, " (%.1f ms, async)", durationNanos / NANOS_PER_MILLI));
+            }
+            long delayMillis = attempts.nextDelayMillis(response.statusCode(), response.header(HttpHeader.RETRY_AFTER.getKey()));
+            if (delayMillis < 0) {
+                return CompletableFuture.completedFuture(response);
+            }
+            logRetry(attempts, delayMillis);
+            Executor next = delayMillis == 0 ? Runnable::run : CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS);
+            return CompletableFuture.supplyAsync(() -> null, next)
+                    .thenCompose(ignored -> attemptAsync(httpMethod, url, headers, jsonBody, cassetteKey, pathTemplate, attempts, breaker, governor));
+        });
+    }
+
+    private CompletableFuture<Reply> sendAsync(HttpMethod httpMethod, String url, Map<String, Object> headers,
+                                               String jsonBody, String cassetteKey) {
+        if (cassetteKey == null) return JdkHttpTransport.send(httpMethod, url, headers, jsonBody).thenApply(Reply::of);
+        if (cassette.isReplaying()) return CompletableFuture.completedFuture(Reply.of(cassette.replay(cassetteKey)));
+        return JdkHttpTransport.send(httpMethod, url, headers, jsonBody).thenApply(Reply::of).thenApply(reply -> reply.record(cassette, cassetteKey));
+    }
+
+    /** Replays the exchange, or performs and records it (API_CASSETTE_MODE). */
+    private Supplier<Reply> throughCassette(String cassetteKey, Supplier<Reply> call) {
+        if (cassette.isReplaying()) return () -> Reply.of(cassette.replay(cassetteKey));
+        return () -> call.get().record(cassette, cassetteKey);
+    }
+
+    private Response rawExchange(HttpMethod httpMethod, String formattedPath, String query, Supplier<Response> call) {
+        Supplier<Response> leased = () -> HttpConnectionPool.leased(call);
+        if (!cassette.isActive()) return leased.get();
+        return cassette.exchange(Cassette.key(httpMethod, formattedPath, query, null), leased);
+    }
+
+    private void logRetry(RetryPolicy.Attempts attempts, long delayMillis) {
+        if (consoleLogEnabled) {
+            TestStepLogger.console("  retry #" + (attempts.attempt() - 1) + " in " + delayMillis + " ms");
+        }
+    }
+
+    private static String htmlHint(String contentType, String responseBody) {
+        boolean looksLikeHtml = contentType.contains(MediaType.TEXT_HTML.getValue()) || responseBody.startsWith("<!DOCTYPE");
+        return looksLikeHtml ? "\nHint: Response is HTML — check BASE_URL vs endpoint." : "";
+    }
+
     private RequestSpecification baseSpec(Headers customHeaders) {
-        return given()
-                .config(RestAssured.config().sslConfig(SSLConfig.sslConfig().relaxedHTTPSValidation()))
-                .headers(mergedHeaders(customHeaders))
-                .contentType(MediaType.APPLICATION_JSON.getValue());
+        return baseSpec(mergedHeaders(customHeaders));
     }
 
-    private static boolean isTransientFailure(int status) {
-        return status == 409 /*CONFLICT*/ || status == 410 /*GONE*/ || status == 429 /*TOO_MANY_REQUESTS*/ || status == 404 /*NOT_FOUND*/;
+    private static RequestSpecification baseSpec(Map<String, Object> headers) {
+        return given()
+                .config(HttpConnectionPool.restAssuredConfig())
+                .urlEncodingEnabled(false)
+                .headers(headers)
+                .contentType(MediaType.APPLICATION_JSON.getValue());
     }
 
     private Map<String, Object> mergedHeaders(Headers customHeaders) {
@@ -190,29 +478,91 @@ public class JsonHttpClient {
         };
     }
 
+    private static <T> T decode(HttpMethod method, IPath pathTemplate, String[] pathParams, String body, Class<T> responseType) {
+        requireBody(method, pathTemplate, pathParams, body, responseType.getSimpleName());
+        return JsonHelper.read(body, responseType);
+    }
+
+    /** Typed calls promise an object: an empty 2xx body fails here with the call named, not as an NPE in the step. */
+    private static void requireBody(HttpMethod method, IPath pathTemplate, String[] pathParams, String body, String typeName) {
+        if (body == null || body.isBlank()) {
+            throw new HttpsException(method + " " + formatPath(pathTemplate, pathParams) + ": expected a " + typeName
+                    + " in the response body, got an empty body");
+        }
+    }
+
+    /** Path params are percent-encoded by the template, so RestAssured's own URL encoding is off (see baseSpec). */
     private static String formatPath(IPath path, String... pathParams) {
-        String formatted = path.url();
-        for (String param : pathParams) formatted = formatted.replaceFirst("%s", param);
-        return formatted;
+        return path.template().expand(pathParams);
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try { stream.close(); } catch (IOException ignored) { }
     }
 
     private static String safeString(Object object) { return (object == null) ? "(no body)" : String.valueOf(object); }
 
-    private void attach(String title, String requestBody, Response response, String responseBody) {
-        try {
-            String maskedRequest = Sensitive.mask(requestBody);
-            String maskedResponse = Sensitive.mask(responseBody);
-            addAttachmentToReport("HTTP: " + title, getAllureReportMessage(response, maskedResponse, maskedRequest, title));
-        } catch (Throwable ignored) { }
+    private void attach(String title, String requestJson, Response response, String responseBody) {
+        attach(title, requestJson, response.statusCode(), responseBody);
+    }
+
+    /**
+     * Formatting and masking run on the attachment writer thread. Request bodies come serialized by the caller
+     * (JSON, not the POJO's toString) so field-name masking applies to them too and the size hint is their length.
+     */
+    private void attach(String title, String requestJson, int statusCode, String responseBody) {
+        if (!attachmentsEnabled()) return;
+        int sizeHint = (requestJson == null ? 0 : requestJson.length()) + (responseBody == null ? 0 : responseBody.length());
+        AllureAttachmentWriter.get().submit("HTTP: " + title, sizeHint, () -> {
+            String maskedRequest = MASKER.mask(safeString(requestJson));
+            String maskedResponse = MASKER.mask(responseBody);
+            return getAllureReportMessage(statusCode, maskedResponse, maskedRequest, title);
+        });
     }
 
-    /** Minimal masking to avoid leaking tokens/emails in reports. */
-    private static final class Sensitive {
-        private static String mask(String text) {
-            if (text == null) return null;
-            return text
-                    .replaceAll("(?i)Bearer\\s+[A-Za-z0-9._-]+", "Bearer ****")
-                    .replaceAll("([\\w.%+-])([\\w.%+-]*)(@[^\\s\"']+)", "$1***$3");
+    /** Status, headers and body of one attempt, whichever transport carried it. */
+    private record Reply(int statusCode, String body, UnaryOperator<String> headers) {
+        static Reply of(Response response) {
+            return new Reply(response.statusCode(), response.then().extract().asString(), response::getHeader);
         }
+
+        static Reply of(HttpResponse<String> response) {
+            return new Reply(response.statusCode(), Optional.ofNullable(response.body()).orElse(""),
+                    name -> response.headers().firstValue(name).orElse(null));
+        }
+
+        static Reply of(Cassette.Recorded recorded) {
+            return new Reply(recorded.statusCode(), Optional.ofNullable(recorded.body()).orElse(""), recorded::header);
+        }
+
+        String header(String name) { return headers.apply(name); }
+
+        Reply record(Cassette cassette, String key) {
+            cassette.record(key, statusCode, header(HttpHeader.CONTENT_TYPE.getKey()), header(HttpHeader.ETAG.getKey()), body);
+            return this;
+        }
+    }
+
+    /** Counts bytes as they are read so the report can show the streamed size. */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) { super(in); }
+
+        @Override
+        public int read() throws IOException {
+            int next = super.read();
+            if (next >= 0) count++;
+            return next;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) count += read;
+            return read;
+        }
+
+        private long count() { return count; }
     }
 }
\ No newline at end of file
@@ -0,0 +1,187 @@
+package utils.request.http;
+
+import org.testng.internal.collections.Pair;
+import utils.enums.MediaType;
+import utils.request.http.MultipartHttpClient.UploadProgress;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URLConnection;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * multipart/form-data body that is streamed instead of built in memory. Part headers are small byte arrays;
+ * file contents are memory-mapped in windows and handed to the JDK client as 64 KiB slices of the mapping,
+ * so they go from the page cache to the socket without passing through a heap buffer. Slices are only produced
+ * on demand (Flow back-pressure), which bounds what an upload holds at a time regardless of the file size.
+ *
+ * The size of every part is known up front, so the body goes out with an exact Content-Length rather than chunked.
+ */
+final class MultipartBody {
+
+    private static final int CHUNK_BYTES = 64 * 1024;
+    private static final long MAP_WINDOW_BYTES = 8L * 1024 * 1024;
+    private static final String CRLF = "\r\n";
+
+    private final String boundary = "----petstore-" + UUID.randomUUID();
+    private final List<Segment> segments = new ArrayList<>();
+    private final long contentLength;
+
+    MultipartBody(List<Pair<String, File>> files, List<Pair<String, String>> fields) {
+        if (fields != null) {
+            fields.forEach(field -> text("--" + boundary + CRLF
+                    + "Content-Disposition: form-data; name=\"" + quoted(field.first()) + "\"" + CRLF + CRLF
+                    + field.second() + CRLF));
+        }
+        if (files != null) {
+            files.forEach(file -> {
+                String fileName = file.second().getName();
+                String type = URLConnection.guessContentTypeFromName(fileName);
+                text("--" + boundary + CRLF
+                        + "Content-Disposition: form-data; name=\"" + quoted(file.first()) + "\"; filename=\"" + quoted(fileName) + "\"" + CRLF
+                        + "Content-Type: " + (type == null ? "application/octet-stream" : type) + CRLF + CRLF);
+                segments.add(new Segment(null, file.second().toPath(), file.second().length()));
+                text(CRLF);
+            });
+        }
+        text("--" + boundary + "--" + CRLF);
+        contentLength = segments.stream().mapToLong(Segment::size).sum();
+    }
+
+    String contentType() { return MediaType.MULTIPART_FORM_DATA.getValue() + "; boundary=" + boundary; }
+
+    long contentLength() { return contentLength; }
+
+    /** A fresh stream of the body per subscription, so the client can resend it (redirects, retries). */
+    BodyPublisher publisher(UploadProgress progress) {
+        return BodyPublishers.fromPublisher(subscriber -> {
+            Upload upload = new Upload(subscriber, progress);
+            subscriber.onSubscribe(upload);
+        }, contentLength);
+    }
+
+    private void text(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        segments.add(new Segment(bytes, null, bytes.length));
+    }
+
+    private static String quoted(String value) { return value.replace("\"", "%22").replace("\r", "").replace("\n", ""); }
+
+    /** Either inline bytes or a file. */
+    private record Segment(byte[] bytes, Path file, long size) {}
+
+    /** One pass over the segments; {@link #drain()} runs on one thread at a time, whoever calls request() or cancel(). */
+    private final class Upload implements Flow.Subscription {
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final UploadProgress progress;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private boolean done;
+        private int segment;
+        private long offset;
+        private long sent;
+        private FileChannel channel;
+        private MappedByteBuffer window;
+        private long windowStart;
+
+        Upload(Flow.Subscriber<? super ByteBuffer> subscriber, UploadProgress progress) {
+            this.subscriber = subscriber;
+            this.progress = progress;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancelled = true;
+                subscriber.onError(new IllegalArgumentException("request(" + n + "): demand must be positive"));
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) return;
+            do {
+                try {
+                    while (!cancelled && !done && demand.get() > 0) {
+                        ByteBuffer next = next();
+                        if (next == null) {
+                            done = true;
+                            closeChannel();
+                            subscriber.onComplete();
+                            break;
+                        }
+                        demand.decrementAndGet();
+                        sent += next.remaining();
+                        progress.onProgress(sent, contentLength);
+                        subscriber.onNext(next);
+                    }
+                } catch (IOException exception) {
+                    done = true;
+                    closeChannel();
+                    subscriber.onError(exception);
+                }
+                if (cancelled) closeChannel();
+            } while (wip.decrementAndGet() != 0);
+        }
+
+        /** The next buffer of the body, or null at the end. */
+        private ByteBuffer next() throws IOException {
+            while (segment < segments.size()) {
+                Segment current = segments.get(segment);
+                if (current.bytes() != null) {
+                    segment++;
+                    return ByteBuffer.wrap(current.bytes());
+                }
+                if (offset >= current.size()) {
+                    closeChannel();
+                    segment++;
+                    offset = 0;
+                    continue;
+                }
+                if (channel == null) channel = FileChannel.open(current.file(), StandardOpenOption.READ);
+                if (window == null || offset >= windowStart + window.capacity()) {
+                    windowStart = offset;
+                    window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(MAP_WINDOW_BYTES, current.size() - offset));
+                }
+                int start = (int) (offset - windowStart);
+                int length = (int) Math.min(CHUNK_BYTES, window.capacity() - start);
+                offset += length;
+                return window.slice(start, length);
+            }
+            return null;
+        }
+
+        private void closeChannel() {
+            window = null;
+            if (channel == null) return;
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // read-only channel, nothing to flush
+            }
+            channel = null;
+        }
+    }
+}
@@ -1,60 +1,193 @@
 package utils.request.http;
 
 import config.Config;
-import io.restassured.RestAssured;
-import io.restassured.config.SSLConfig;
-import io.restassured.response.Response;
-import io.restassured.specification.RequestSpecification;
+import core.TestStepLogger;
 import org.testng.internal.collections.Pair;
+import utils.AllureAttachmentWriter;
 import utils.enums.HttpHeader;
+import utils.enums.HttpMethod;
 import utils.enums.HttpStatusGroup;
-import utils.enums.MediaType;
+import utils.helpers.SensitiveDataMasker;
+import utils.request.RequestObservers;
 import utils.request.exception.HttpsException;
+import utils.request.path.IPath;
+import utils.request.resilience.CircuitBreaker;
+import utils.request.resilience.CircuitBreakers;
+import utils.request.resilience.GuardedCall;
+import utils.request.resilience.RequestGovernor;
 
 import java.io.File;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
 
-import static io.restassured.RestAssured.given;
-import static utils.AllureUtils.addAttachmentToReport;
 import static utils.AllureUtils.getAllureReportMessage;
 
+/**
+ * multipart/form-data uploads through the JDK client, files streamed from disk ({@link MultipartBody}) instead of
+ * buffered, so image size does not show up in the heap. {@link #postMultipartAll} runs many uploads with at most
+ * API_UPLOAD_PARALLELISM in flight, which also bounds the memory they use together. Uploads go through the circuit
+ * breaker and request limits of their path and are reported to the {@link RequestObservers}, like the JSON calls;
+ * they are not retried (the body stream is consumed).
+ */
 public class MultipartHttpClient {
 
+    /** Bytes handed to the HTTP client so far, out of {@code totalBytes}; called on the client's threads. */
+    @FunctionalInterface
+    public interface UploadProgress {
+        UploadProgress NONE = (sentBytes, totalBytes) -> { };
+
+        void onProgress(long sentBytes, long totalBytes);
+    }
+
+    /**
+     * One multipart request. {@code path} keys the circuit breaker, the request limits and the metrics, like the
+     * JSON calls; {@code endpoint} is the path with its params filled in.
+     */
+    public record Upload(IPath path, String endpoint, List<Pair<String, File>> files, List<Pair<String, String>> fields) {
+        public Upload(IPath path, List<Pair<String, File>> files, List<Pair<String, String>> fields, String... pathParams) {
+            this(path, path.template().expand(pathParams), files, fields);
+        }
+    }
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final SensitiveDataMasker MASKER = SensitiveDataMasker.defaults();
+
     private final String filesApiUrl = Config.baseFilesApiUrl();
+    private final String filesHost = CircuitBreakers.hostOf(filesApiUrl);
     private final boolean consoleLogEnabled = Config.consoleLog();
+    private final Cassette cassette;
 
     public MultipartHttpClient() {
-        RestAssured.config = RestAssured.config().sslConfig(SSLConfig.sslConfig().allowAllHostnames());
+        this(Cassette.get());
+    }
+
+    public MultipartHttpClient(Cassette cassette) {
+        this.cassette = cassette;
+    }
+
+    public String postMultipart(final String fileToken, final Upload upload) {
+        return postMultipart(fileToken, upload, UploadProgress.NONE);
+    }
+
+    public String postMultipart(final String fileToken, final Upload upload, final UploadProgress progress) {
+        try {
+            return send(fileToken, upload, progress).join();
+        } catch (CompletionException exception) {
+            throw unwrap(exception);
+        }
     }
 
-    public String postMultipart(final String fileToken,
-                                final List<Pair<String, File>> filePairsList,
-                                final List<Pair<String, String>> stringPairsList,
-                                final String endpoint) {
-        RequestSpecification spec = given()
-                .header(HttpHeader.CONTENT_TYPE.getKey(), MediaType.APPLICATION_JSON.getValue())
-                .header(HttpHeader.AUTHORIZATION.getKey(), "Bearer " + fileToken)
-                .contentType(MediaType.MULTIPART_FORM_DATA.getValue());
+    /** Response bodies in the order of {@code uploads}; fails with the first error once every upload has finished. */
+    public List<String> postMultipartAll(final String fileToken, final List<Upload> uploads) {
+        Semaphore inFlight = new Semaphore(Math.max(1, Config.uploadParallelism()));
+        List<CompletableFuture<String>> responses = new ArrayList<>(uploads.size());
+        for (Upload upload : uploads) {
+            inFlight.acquireUninterruptibly();
+            CompletableFuture<String> response;
+            try {
+                response = send(fileToken, upload, UploadProgress.NONE);
+            } catch (RuntimeException exception) {
+                inFlight.release();
+                throw exception;
+            }
+            responses.add(response.whenComplete((body, error) -> inFlight.release()));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).exceptionally(error -> null).join();
+        List<String> bodies = new ArrayList<>(responses.size());
+        for (CompletableFuture<String> response : responses) {
+            try {
+                bodies.add(response.join());
+            } catch (CompletionException exception) {
+                throw unwrap(exception);
+            }
+        }
+        return bodies;
+    }
 
-        if (filePairsList != null) filePairsList.forEach(pair -> spec.multiPart(pair.first(), pair.second()));
-        if (stringPairsList != null) stringPairsList.forEach(pair -> spec.multiPart(pair.first(), pair.second()));
-        if (consoleLogEnabled) spec.log().all();
+    private CompletableFuture<String> send(String fileToken, Upload upload, UploadProgress progress) {
+        String endpoint = upload.endpoint();
+        ResponseCache.invalidate(endpoint);
+        String title = "POST multipart " + endpoint;
+        String key = cassette.isActive()
+                ? Cassette.key(HttpMethod.POST, endpoint, "", fingerprint(upload.files(), upload.fields())) : null;
+        // Registered on the caller's thread so it lands on the current Allure step; filled from the client's threads
+        AllureAttachmentWriter.Reservation attachment = AllureAttachmentWriter.get().reserve("HTTP: " + title);
+        if (cassette.isReplaying()) {
+            Cassette.Recorded recorded = cassette.replay(key);
+            return CompletableFuture.completedFuture(complete(attachment, title, recorded.statusCode(), recorded.body()));
+        }
 
-        Response response = spec.when().post(filesApiUrl + endpoint);
-        String responseBody = response.then().extract().asString();
+        MultipartBody body = new MultipartBody(upload.files(), upload.fields());
+        Map<String, Object> headers = new LinkedHashMap<>();
+        headers.put(HttpHeader.CONTENT_TYPE.getKey(), body.contentType());
+        headers.put(HttpHeader.AUTHORIZATION.getKey(), "Bearer " + fileToken);
+        CircuitBreaker breaker = CircuitBreakers.forEndpoint(filesHost, upload.path());
+        RequestGovernor governor = RequestGovernor.forPath(upload.path());
+        return GuardedCall.callAsync(governor, breaker,
+                () -> JdkHttpTransport.send(HttpMethod.POST, filesApiUrl + endpoint, headers, body.publisher(progress)),
+                HttpResponse::statusCode).handle((timed, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                attachFailure(attachment, title, cause);
+                // open circuit, interrupted permit wait, bad url: as is, like the JSON calls
+                if (cause instanceof RuntimeException runtime) throw runtime;
+                throw new HttpsException("POST " + filesApiUrl + endpoint + " failed: " + cause, cause);
+            }
+            HttpResponse<String> response = timed.value();
+            RequestObservers.notifyExchange(HttpMethod.POST, upload.path(), response.statusCode(), timed.durationNanos(), 1);
+            if (consoleLogEnabled) {
+                TestStepLogger.console(title + " -> " + response.statusCode() + String.format(Locale.ROOT, " (%.1f ms, %d bytes)",
+                        timed.durationNanos() / NANOS_PER_MILLI, body.contentLength()));
+            }
+            if (key != null) record(key, response);
+            return complete(attachment, title, response.statusCode(), response.body());
+        });
+    }
 
-        attach("POST multipart " + endpoint, null, response, responseBody);
+    private void record(String key, HttpResponse<String> response) {
+        cassette.record(key, response.statusCode(), response.headers().firstValue(HttpHeader.CONTENT_TYPE.getKey()).orElse(null),
+                response.headers().firstValue(HttpHeader.ETAG.getKey()).orElse(null), response.body());
+    }
 
-        if (!HttpStatusGroup.SUCCESS_CODES.contains(response.statusCode())) {
+    private String complete(AllureAttachmentWriter.Reservation attachment, String title, int statusCode, String responseBody) {
+        if (attachment.isActive()) {
+            attachment.complete(() -> getAllureReportMessage(statusCode, MASKER.mask(responseBody), null, title));
+        }
+        if (!HttpStatusGroup.SUCCESS_CODES.contains(statusCode)) {
             throw new HttpsException("Bad request: expected = " + HttpStatusGroup.SUCCESS_CODES + ", actual = "
-                    + response.statusCode() + "\nError message:\n" + responseBody);
+                    + statusCode + "\nError message:\n" + responseBody);
         }
         return responseBody;
     }
 
-    private void attach(String title, String requestBody, Response response, String responseBody) {
-        try {
-            addAttachmentToReport("HTTP: " + title, getAllureReportMessage(response, responseBody, requestBody, title));
-        } catch (Throwable ignored) { }
+    private static RuntimeException unwrap(CompletionException exception) {
+        return exception.getCause() instanceof RuntimeException cause ? cause : exception;
+    }
+
+    /** Stands in for the multipart body in the cassette key: part names, file names and sizes, string values. */
+    private static String fingerprint(List<Pair<String, File>> filePairsList, List<Pair<String, String>> stringPairsList) {
+        StringBuilder parts = new StringBuilder();
+        if (filePairsList != null) {
+            filePairsList.forEach(pair -> parts.append(pair.first()).append('=').append(pair.second().getName())
+                    .append(':').append(pair.second().length()).append('\n'));
+        }
+        if (stringPairsList != null) {
+            stringPairsList.forEach(pair -> parts.append(pair.first()).append('=').append(pair.second()).append('\n'));
+        }
+        return parts.toString();
+    }
+
+    /** A failed upload still fills its reserved attachment, with the error instead of a body. */
+    private static void attachFailure(AllureAttachmentWriter.Reservation attachment, String title, Throwable cause) {
+        if (attachment.isActive()) {
+            attachment.complete(() -> getAllureReportMessage((Integer) null, "(no response: " + cause + ")", null, title));
+        }
     }
-}
\ No newline at end of file
+}
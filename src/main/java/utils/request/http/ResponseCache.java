@@ -0,0 +1,83 @@
+package utils.request.http;
+
+import config.Config;
+import utils.request.Headers;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in (API_GET_CACHE) cache of successful GET responses, so steps that re-read state before the next step
+ * don't repeat identical round trips. One cache per thread, i.e. per running test; BaseApiTest clears it after
+ * every test method.
+ * - key: url (path + query) and the custom header
+ * - fresh for API_GET_CACHE_TTL_MS; after that an entry with an ETag is revalidated with If-None-Match
+ *   (304 reuses the cached body), one without is fetched again
+ * - at most API_GET_CACHE_MAX_ENTRIES entries, least recently used evicted first
+ * - any other method on a resource (the first path segment: /pet, /store, /user) drops the cached GETs of that
+ *   resource before it is sent: PUT /pet changes what GET /pet/{id} returns.
+ */
+public final class ResponseCache {
+
+    private static final boolean ENABLED = Config.getCache();
+    private static final long TTL_NANOS = TimeUnit.MILLISECONDS.toNanos(Config.getCacheTtlMillis());
+    private static final int MAX_ENTRIES = Math.max(1, Config.getCacheMaxEntries());
+    private static final ThreadLocal<ResponseCache> CURRENT = ThreadLocal.withInitial(ResponseCache::new);
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) { return size() > MAX_ENTRIES; }
+    };
+
+    private ResponseCache() {}
+
+    public static boolean isEnabled() { return ENABLED; }
+
+    /** The calling thread's cache, or null when caching is off. */
+    static ResponseCache current() { return ENABLED ? CURRENT.get() : null; }
+
+    /** Ends the cache scope of the calling thread (called after each test method). */
+    public static void clear() {
+        if (ENABLED) CURRENT.remove();
+    }
+
+    /** Drops the calling thread's cached GETs of the resource a non-GET request to {@code formattedPath} touches. */
+    static void invalidate(String formattedPath) {
+        if (ENABLED) CURRENT.get().invalidateResource(resourceOf(formattedPath));
+    }
+
+    static String key(String url, Headers customHeaders) {
+        if (customHeaders == null || customHeaders.getSize() == 0) return url;
+        String[] header = customHeaders.getHeader();
+        return url + '\n' + header[0] + ':' + header[1];
+    }
+
+    Entry get(String key) { return entries.get(key); }
+
+    void put(String key, String formattedPath, int statusCode, String body, String etag) {
+        entries.put(key, new Entry(resourceOf(formattedPath), statusCode, body, etag, System.nanoTime()));
+    }
+
+    /** 304 Not Modified: the cached body is current again. */
+    void refresh(String key, Entry entry) {
+        entries.put(key, new Entry(entry.resource(), entry.statusCode(), entry.body(), entry.etag(), System.nanoTime()));
+    }
+
+    private void invalidateResource(String resource) {
+        for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext(); ) {
+            if (iterator.next().resource().equals(resource)) iterator.remove();
+        }
+    }
+
+    private static String resourceOf(String formattedPath) {
+        int start = formattedPath.startsWith("/") ? 1 : 0;
+        int end = formattedPath.indexOf('/', start);
+        return end < 0 ? formattedPath.substring(start) : formattedPath.substring(start, end);
+    }
+
+    record Entry(String resource, int statusCode, String body, String etag, long storedAtNanos) {
+        boolean isFresh() { return System.nanoTime() - storedAtNanos < TTL_NANOS; }
+    }
+}
@@ -0,0 +1,25 @@
+package utils.request.http;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+
+/**
+ * Consumes a response body token by token, straight from the socket (see JsonHttpClient.getStreaming).
+ * Nothing is materialized unless the reader asks for it.
+ */
+@FunctionalInterface
+public interface ResponseReader<T> {
+
+    T read(JsonParser parser) throws IOException;
+
+    /** Full-tree materialization, for responses small enough not to matter. */
+    static ResponseReader<JsonNode> tree() {
+        return JsonParser::readValueAsTree;
+    }
+
+    static <T> ResponseReader<T> as(Class<T> type) {
+        return parser -> parser.readValueAs(type);
+    }
+}
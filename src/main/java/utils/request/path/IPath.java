@@ -3,4 +3,9 @@ package utils.request.path;
 public interface IPath {
     String url();
     String getDescription();
+
+    /** Compiled form of {@link #url()}; implementations with a fixed url should build it once and return it. */
+    default PathTemplate template() {
+        return PathTemplate.of(url());
+    }
 }
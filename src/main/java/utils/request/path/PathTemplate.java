@@ -0,0 +1,106 @@
+package utils.request.path;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A path such as "/pet/%s" compiled once into its literal segments.
+ * {@link #expand} fills the placeholders in a single pass and percent-encodes every parameter as a
+ * path segment (RFC 3986), so '/', '?', '#', spaces etc. in a parameter cannot change the route.
+ * Instances are immutable and thread-safe.
+ */
+public final class PathTemplate {
+
+    private static final String PLACEHOLDER = "%s";
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    private static final int EXPECTED_PARAM_LENGTH = 16;
+    private static final Map<String, PathTemplate> CACHE = new ConcurrentHashMap<>();
+
+    private final String template;
+    /** literals[i] precedes placeholder i; the last literal follows the last placeholder. */
+    private final String[] literals;
+    private final int literalsLength;
+
+    private PathTemplate(String template, String[] literals) {
+        this.template = template;
+        this.literals = literals;
+        int length = 0;
+        for (String literal : literals) length += literal.length();
+        this.literalsLength = length;
+    }
+
+    /** Cached template for {@code template}; use for IPath implementations that don't hold their own. */
+    public static PathTemplate of(String template) {
+        return CACHE.computeIfAbsent(template, PathTemplate::compile);
+    }
+
+    public static PathTemplate compile(String template) {
+        if (template == null) throw new IllegalArgumentException("Path template must not be null");
+        List<String> literals = new ArrayList<>();
+        int start = 0;
+        int placeholder;
+        while ((placeholder = template.indexOf(PLACEHOLDER, start)) >= 0) {
+            literals.add(template.substring(start, placeholder));
+            start = placeholder + PLACEHOLDER.length();
+        }
+        literals.add(template.substring(start));
+        return new PathTemplate(template, literals.toArray(String[]::new));
+    }
+
+    public String template() { return template; }
+
+    public int placeholderCount() { return literals.length - 1; }
+
+    public String expand(String... params) {
+        int paramCount = params == null ? 0 : params.length;
+        if (paramCount != placeholderCount()) {
+            throw new IllegalArgumentException("Path '" + template + "' expects " + placeholderCount()
+                    + " path param(s), got " + paramCount);
+        }
+        if (paramCount == 0) return template;
+
+        StringBuilder path = new StringBuilder(literalsLength + paramCount * EXPECTED_PARAM_LENGTH);
+        for (int index = 0; index < paramCount; index++) {
+            if (params[index] == null) {
+                throw new IllegalArgumentException("Path '" + template + "': path param #" + index + " is null");
+            }
+            path.append(literals[index]);
+            appendEncoded(path, params[index]);
+        }
+        return path.append(literals[paramCount]).toString();
+    }
+
+    @Override
+    public String toString() { return template; }
+
+    private static void appendEncoded(StringBuilder path, String segment) {
+        int length = segment.length();
+        for (int index = 0; index < length; index++) {
+            char character = segment.charAt(index);
+            if (isSegmentChar(character)) {
+                path.append(character);
+                continue;
+            }
+            int codePoint = segment.codePointAt(index);
+            if (Character.isSupplementaryCodePoint(codePoint)) index++;
+            for (byte octet : new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8)) {
+                path.append('%').append(HEX[(octet >> 4) & 0xF]).append(HEX[octet & 0xF]);
+            }
+        }
+    }
+
+    /** pchar minus '%': unreserved / sub-delims / ':' / '@'. */
+    private static boolean isSegmentChar(char character) {
+        if ((character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z')
+                || (character >= '0' && character <= '9')) {
+            return true;
+        }
+        return switch (character) {
+            case '-', '.', '_', '~', '!', '$', '&', '\'', '(', ')', '*', '+', ',', ';', '=', ':', '@' -> true;
+            default -> false;
+        };
+    }
+}
@@ -0,0 +1,148 @@
+package utils.request.resilience;
+
+import utils.request.RequestObservers;
+import utils.request.exception.CircuitOpenException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Count-based circuit breaker for one endpoint.
+ *
+ * CLOSED: calls pass; the last {@code windowSize} outcomes are kept and the breaker opens when the failure
+ * rate (5xx, 429, transport errors) or the slow-call rate reaches its threshold.
+ * OPEN: calls fail fast with {@link CircuitOpenException} until {@code openDuration} has passed.
+ * HALF_OPEN: {@code halfOpenCalls} trial calls pass; all of them succeeding closes the breaker, any failure
+ * or slow call opens it again.
+ * Every transition is published through {@link RequestObservers#notifyBreakerTransition}.
+ */
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final int SERVER_ERROR = 500;
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final double PERCENT = 100d;
+
+    private final String name;
+    private final CircuitBreakerSettings settings;
+    private final long slowCallNanos;
+    private final long openNanos;
+
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slow;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenStarted;
+    private int halfOpenSucceeded;
+
+    public CircuitBreaker(String name, CircuitBreakerSettings settings) {
+        this.name = name;
+        this.settings = settings;
+        this.slowCallNanos = settings.getSlowCallDuration().toNanos();
+        this.openNanos = settings.getOpenDuration().toNanos();
+        this.failedCalls = new boolean[settings.getWindowSize()];
+        this.slowCalls = new boolean[settings.getWindowSize()];
+    }
+
+    public String name() { return name; }
+
+    public synchronized State state() { return state; }
+
+    /**
+     * Call right before every attempt, once nothing can fail between here and the call; throws when the call must
+     * not reach the server. A HALF_OPEN trial slot taken here is only given back by {@link #onResponse}/{@link #onError}.
+     */
+    public void acquirePermission() {
+        if (!settings.isEnabled()) return;
+        synchronized (this) {
+            if (state == State.OPEN) {
+                long waitedNanos = System.nanoTime() - openedAtNanos;
+                if (waitedNanos < openNanos) {
+                    throw new CircuitOpenException("Circuit breaker '" + name + "' is OPEN, failing fast (retry in "
+                            + TimeUnit.NANOSECONDS.toMillis(openNanos - waitedNanos) + " ms)");
+                }
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenStarted >= settings.getHalfOpenCalls()) {
+                    throw new CircuitOpenException("Circuit breaker '" + name + "' is HALF_OPEN and its trial calls are in flight");
+                }
+                halfOpenStarted++;
+            }
+        }
+    }
+
+    public void onResponse(int statusCode, long durationNanos) {
+        record(statusCode >= SERVER_ERROR || statusCode == TOO_MANY_REQUESTS, durationNanos);
+    }
+
+    public void onError(long durationNanos) {
+        record(true, durationNanos);
+    }
+
+    private void record(boolean failed, long durationNanos) {
+        if (!settings.isEnabled()) return;
+        boolean slowCall = durationNanos >= slowCallNanos;
+        synchronized (this) {
+            switch (state) {
+                case HALF_OPEN -> {
+                    if (failed || slowCall) {
+                        transitionTo(State.OPEN);
+                    } else if (++halfOpenSucceeded >= settings.getHalfOpenCalls()) {
+                        transitionTo(State.CLOSED);
+                    }
+                }
+                case CLOSED -> {
+                    addToWindow(failed, slowCall);
+                    if (recorded >= settings.getMinimumCalls()
+                            && (rate(failures) >= settings.getFailureRateThreshold()
+                                || rate(slow) >= settings.getSlowCallRateThreshold())) {
+                        transitionTo(State.OPEN);
+                    }
+                }
+                default -> { /* permitted before the breaker opened; nothing to decide */ }
+            }
+        }
+    }
+
+    private void addToWindow(boolean failed, boolean slowCall) {
+        if (recorded == failedCalls.length) {
+            if (failedCalls[next]) failures--;
+            if (slowCalls[next]) slow--;
+        } else {
+            recorded++;
+        }
+        failedCalls[next] = failed;
+        slowCalls[next] = slowCall;
+        if (failed) failures++;
+        if (slowCall) slow++;
+        next = (next + 1) % failedCalls.length;
+    }
+
+    private double rate(int count) { return count * PERCENT / recorded; }
+
+    private void transitionTo(State target) {
+        State previous = state;
+        state = target;
+        switch (target) {
+            case OPEN -> openedAtNanos = System.nanoTime();
+            case HALF_OPEN -> {
+                halfOpenStarted = 0;
+                halfOpenSucceeded = 0;
+            }
+            case CLOSED -> {
+                next = 0;
+                recorded = 0;
+                failures = 0;
+                slow = 0;
+            }
+            default -> { }
+        }
+        RequestObservers.notifyBreakerTransition(name, previous, target);
+    }
+}
@@ -0,0 +1,37 @@
+package utils.request.resilience;
+
+import config.Config;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Thresholds of a {@link CircuitBreaker}. Rates are percentages of the last {@code windowSize} calls and are
+ * only evaluated once {@code minimumCalls} calls were recorded. Defaults come from API_BREAKER_*.
+ */
+@Getter
+@Builder
+public class CircuitBreakerSettings {
+    @Builder.Default private final boolean enabled = true;
+    @Builder.Default private final int windowSize = 20;
+    @Builder.Default private final int minimumCalls = 10;
+    @Builder.Default private final double failureRateThreshold = 50;
+    @Builder.Default private final Duration slowCallDuration = Duration.ofSeconds(3);
+    @Builder.Default private final double slowCallRateThreshold = 80;
+    @Builder.Default private final Duration openDuration = Duration.ofSeconds(30);
+    @Builder.Default private final int halfOpenCalls = 3;
+
+    public static CircuitBreakerSettings fromConfig() {
+        return CircuitBreakerSettings.builder()
+                .enabled(Config.breakerEnabled())
+                .windowSize(Math.max(1, Config.breakerWindow()))
+                .minimumCalls(Math.max(1, Config.breakerMinCalls()))
+                .failureRateThreshold(Config.breakerFailureRate())
+                .slowCallDuration(Duration.ofMillis(Config.breakerSlowCallMillis()))
+                .slowCallRateThreshold(Config.breakerSlowCallRate())
+                .openDuration(Duration.ofMillis(Config.breakerOpenMillis()))
+                .halfOpenCalls(Math.max(1, Config.breakerHalfOpenCalls()))
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package utils.request.resilience;
+
+import utils.request.path.IPath;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** JVM-wide circuit breakers, one per host + path (ApiPath name, or url for other IPath implementations). */
+public final class CircuitBreakers {
+
+    private static final CircuitBreakerSettings SETTINGS = CircuitBreakerSettings.fromConfig();
+    private static final Map<String, CircuitBreaker> BREAKERS = new ConcurrentHashMap<>();
+
+    private CircuitBreakers() {}
+
+    public static CircuitBreaker forEndpoint(String host, IPath path) {
+        return BREAKERS.computeIfAbsent(host + " " + PathOverrides.keyOf(path), name -> new CircuitBreaker(name, SETTINGS));
+    }
+
+    /** Host part of a base url, used as the first half of the breaker key. */
+    public static String hostOf(String baseUrl) {
+        String host = URI.create(baseUrl).getHost();
+        return host == null ? baseUrl : host;
+    }
+
+    public static Collection<CircuitBreaker> all() { return BREAKERS.values(); }
+}
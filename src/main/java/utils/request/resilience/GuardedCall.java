@@ -0,0 +1,76 @@
+package utils.request.resilience;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * One attempt through a path's {@link RequestGovernor} and {@link CircuitBreaker}. The request permit comes first and
+ * the breaker's permission right before the call: a HALF_OPEN trial slot is only handed back by the outcome of its
+ * call, so nothing that can fail may sit between the two. However the call ends (response, failed future, or an
+ * exception thrown before a future exists) the breaker records it and the permit is closed.
+ */
+public final class GuardedCall {
+
+    /** Result of a call and its duration, from the breaker's permission until the response (headers) arrived. */
+    public record Timed<T>(T value, long durationNanos) {}
+
+    private GuardedCall() {}
+
+    /** Blocks for the permit and the call; {@code statusCode} reads the outcome the breaker records. */
+    public static <T> Timed<T> call(RequestGovernor governor, CircuitBreaker breaker,
+                                    Supplier<T> exchange, ToIntFunction<T> statusCode) {
+        RequestGovernor.Permit permit = governor.acquire();
+        long startNanos;
+        T value;
+        try {
+            breaker.acquirePermission();
+            startNanos = System.nanoTime();
+            try {
+                value = exchange.get();
+            } catch (RuntimeException exception) {
+                breaker.onError(System.nanoTime() - startNanos);
+                throw exception;
+            }
+        } finally {
+            permit.close();
+        }
+        long durationNanos = System.nanoTime() - startNanos;
+        breaker.onResponse(statusCode.applyAsInt(value), durationNanos);
+        return new Timed<>(value, durationNanos);
+    }
+
+    /** Same as {@link #call}, without blocking; a call that throws instead of returning a future fails the result. */
+    public static <T> CompletableFuture<Timed<T>> callAsync(RequestGovernor governor, CircuitBreaker breaker,
+                                                            Supplier<CompletableFuture<T>> exchange,
+                                                            ToIntFunction<T> statusCode) {
+        return governor.acquireAsync().thenCompose(permit -> {
+            try {
+                breaker.acquirePermission();
+            } catch (RuntimeException open) {
+                permit.close();
+                return CompletableFuture.failedFuture(open);
+            }
+            long startNanos = System.nanoTime();
+            CompletableFuture<T> sent;
+            try {
+                sent = exchange.get();
+            } catch (RuntimeException exception) {
+                breaker.onError(System.nanoTime() - startNanos);
+                permit.close();
+                return CompletableFuture.failedFuture(exception);
+            }
+            return sent.handle((value, error) -> {
+                permit.close();
+                long durationNanos = System.nanoTime() - startNanos;
+                if (error != null) {
+                    breaker.onError(durationNanos);
+                    throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+                }
+                breaker.onResponse(statusCode.applyAsInt(value), durationNanos);
+                return new Timed<>(value, durationNanos);
+            });
+        });
+    }
+}
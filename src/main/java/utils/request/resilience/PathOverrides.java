@@ -0,0 +1,44 @@
+package utils.request.resilience;
+
+import utils.request.path.IPath;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parses per-path settings of the form {@code PET_ID:key=value,key=value;USER_LOGIN:key=value}.
+ * Paths are ApiPath names, or the url for other IPath implementations (see {@link #keyOf}).
+ */
+public final class PathOverrides {
+
+    private PathOverrides() {}
+
+    /** ApiPath name, or the url for other IPath implementations; also how metrics name a path. */
+    public static String keyOf(IPath path) {
+        return path instanceof Enum<?> constant ? constant.name() : path.url();
+    }
+
+    /** path key -> (setting -> value); {@code configKey} only names the source in error messages. */
+    public static Map<String, Map<String, String>> parse(String configKey, String spec) {
+        Map<String, Map<String, String>> overrides = new HashMap<>();
+        if (spec == null || spec.isBlank()) return overrides;
+        for (String entry : spec.split(";")) {
+            if (entry.isBlank()) continue;
+            String[] pathAndSettings = entry.split(":", 2);
+            if (pathAndSettings.length != 2) {
+                throw new IllegalArgumentException(configKey + ": expected '<path>:<key>=<value>,...' but got '" + entry + "'");
+            }
+            Map<String, String> settings = new LinkedHashMap<>();
+            for (String setting : pathAndSettings[1].split(",")) {
+                String[] keyValue = setting.split("=", 2);
+                if (keyValue.length != 2) {
+                    throw new IllegalArgumentException(configKey + ": bad setting '" + setting + "' in '" + entry + "'");
+                }
+                settings.put(keyValue[0].trim(), keyValue[1].trim());
+            }
+            overrides.put(pathAndSettings[0].trim(), settings);
+        }
+        return overrides;
+    }
+}
@@ -0,0 +1,45 @@
+package utils.request.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket: refills {@code permitsPerSecond} tokens per second up to {@code burst}.
+ * A caller that finds the bucket empty reserves the next token (the balance goes negative) and sleeps until
+ * it is due, outside the lock. Reservations are taken under a fair lock, so waiting threads are served in
+ * arrival order and a busy thread cannot starve the others.
+ */
+public final class RateLimiter {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final double nanosPerToken;
+    private final double burst;
+    private double tokens;
+    private long refilledAtNanos;
+
+    public RateLimiter(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) throw new IllegalArgumentException("permitsPerSecond must be > 0, got " + permitsPerSecond);
+        this.nanosPerToken = NANOS_PER_SECOND / permitsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.tokens = this.burst;
+        this.refilledAtNanos = System.nanoTime();
+    }
+
+    /** Takes one token and returns how long the caller has to wait before using it (0 when one was available). */
+    public long reserveNanos() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - refilledAtNanos) / nanosPerToken);
+            refilledAtNanos = now;
+            tokens -= 1;
+            return tokens >= 0 ? 0 : (long) (-tokens * nanosPerToken);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double permitsPerSecond() { return NANOS_PER_SECOND / nanosPerToken; }
+}
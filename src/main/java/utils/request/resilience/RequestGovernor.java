@@ -0,0 +1,114 @@
+package utils.request.resilience;
+
+import config.Config;
+import utils.request.exception.HttpsException;
+import utils.request.path.IPath;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles requests before they leave the client: a token-bucket rate limit and a cap on requests in flight,
+ * both JVM-wide (API_RATE_LIMIT_RPS, API_MAX_IN_FLIGHT) and per path (API_RATE_LIMIT_OVERRIDES).
+ * Every attempt, retries included, takes a {@link Permit} and closes it once the response is in.
+ * Semaphores are fair and rate reservations are FIFO, so parallel test threads are served in arrival order.
+ * In-flight slots are taken first (path, then global: a fixed order, so no deadlock) and the rate wait comes
+ * last, so requests leave at the configured rate instead of in a burst when slots free up.
+ */
+public final class RequestGovernor {
+
+    private static final Gate GLOBAL = new Gate(RequestLimits.global());
+    private static final Map<String, RequestLimits> OVERRIDES = RequestLimits.parseOverrides(Config.rateLimitOverrides());
+    private static final Map<String, RequestGovernor> GOVERNORS = new ConcurrentHashMap<>();
+    /** Async callers wait for their permit here rather than on the caller's or the HTTP client's threads. */
+    private static final ExecutorService WAITERS = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Gate path;
+
+    private RequestGovernor(Gate path) { this.path = path; }
+
+    public static RequestGovernor forPath(IPath path) {
+        String key = PathOverrides.keyOf(path);
+        RequestLimits limits = OVERRIDES.get(key);
+        if (limits == null) return GOVERNORS.computeIfAbsent("", ignored -> new RequestGovernor(null));
+        return GOVERNORS.computeIfAbsent(key, ignored -> new RequestGovernor(new Gate(limits)));
+    }
+
+    public boolean isUnlimited() { return GLOBAL.unlimited && (path == null || path.unlimited); }
+
+    /** Blocks until the request may be sent. */
+    public Permit acquire() {
+        if (isUnlimited()) return Permit.NONE;
+        Semaphore pathSlots = path == null ? null : path.inFlight;
+        Semaphore globalSlots = GLOBAL.inFlight;
+        boolean pathSlotTaken = false;
+        boolean globalSlotTaken = false;
+        try {
+            if (pathSlots != null) {
+                pathSlots.acquire();
+                pathSlotTaken = true;
+            }
+            if (globalSlots != null) {
+                globalSlots.acquire();
+                globalSlotTaken = true;
+            }
+            long waitNanos = Math.max(reserve(GLOBAL), path == null ? 0 : reserve(path));
+            if (waitNanos > 0) TimeUnit.NANOSECONDS.sleep(waitNanos);
+            return new Permit(pathSlots, globalSlots);
+        } catch (InterruptedException interrupted) {
+            if (globalSlotTaken) globalSlots.release();
+            if (pathSlotTaken) pathSlots.release();
+            Thread.currentThread().interrupt();
+            throw new HttpsException("Interrupted while waiting for a request permit", interrupted);
+        }
+    }
+
+    /** Same as {@link #acquire()}, but waits on a virtual thread; completes immediately when nothing is limited. */
+    public CompletableFuture<Permit> acquireAsync() {
+        if (isUnlimited()) return CompletableFuture.completedFuture(Permit.NONE);
+        return CompletableFuture.supplyAsync(this::acquire, WAITERS);
+    }
+
+    private static long reserve(Gate gate) {
+        return gate.rateLimiter == null ? 0 : gate.rateLimiter.reserveNanos();
+    }
+
+    /** In-flight slots held by one attempt; closing it more than once is harmless. */
+    public static final class Permit implements AutoCloseable {
+        static final Permit NONE = new Permit(null, null);
+
+        private final Semaphore pathSlots;
+        private final Semaphore globalSlots;
+        private boolean released;
+
+        private Permit(Semaphore pathSlots, Semaphore globalSlots) {
+            this.pathSlots = pathSlots;
+            this.globalSlots = globalSlots;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (released) return;
+            released = true;
+            if (globalSlots != null) globalSlots.release();
+            if (pathSlots != null) pathSlots.release();
+        }
+    }
+
+    private static final class Gate {
+        private final boolean unlimited;
+        private final RateLimiter rateLimiter;
+        private final Semaphore inFlight;
+
+        private Gate(RequestLimits limits) {
+            this.unlimited = limits.isUnlimited();
+            this.rateLimiter = limits.newRateLimiter();
+            this.inFlight = limits.getMaxInFlight() > 0 ? new Semaphore(limits.getMaxInFlight(), true) : null;
+        }
+    }
+}
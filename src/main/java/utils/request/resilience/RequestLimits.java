@@ -0,0 +1,56 @@
+package utils.request.resilience;
+
+import config.Config;
+import lombok.Builder;
+import lombok.Getter;
+import utils.enums.SystemVar;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Client-side limits of a {@link RequestGovernor} scope. {@code ratePerSecond} and {@code maxInFlight} of 0 mean
+ * "no limit"; {@code burst} of 0 means one second worth of tokens. Global limits come from API_RATE_LIMIT_RPS,
+ * API_RATE_LIMIT_BURST and API_MAX_IN_FLIGHT; per-path limits from API_RATE_LIMIT_OVERRIDES.
+ */
+@Getter
+@Builder
+public class RequestLimits {
+    @Builder.Default private final double ratePerSecond = 0;
+    @Builder.Default private final int burst = 0;
+    @Builder.Default private final int maxInFlight = 0;
+
+    public static RequestLimits global() {
+        return RequestLimits.builder()
+                .ratePerSecond(Config.rateLimitPerSecond())
+                .burst(Config.rateLimitBurst())
+                .maxInFlight(Config.maxInFlight())
+                .build();
+    }
+
+    public boolean isUnlimited() { return ratePerSecond <= 0 && maxInFlight <= 0; }
+
+    /** Format: {@code PET_FIND_BY_STATUS:rps=2,burst=1;USER_LOGIN:maxInFlight=1}. */
+    static Map<String, RequestLimits> parseOverrides(String spec) {
+        Map<String, RequestLimits> overrides = new HashMap<>();
+        String configKey = SystemVar.API_RATE_LIMIT_OVERRIDES.getEnvKey();
+        PathOverrides.parse(configKey, spec).forEach((path, settings) -> {
+            RequestLimits.RequestLimitsBuilder builder = RequestLimits.builder();
+            settings.forEach((key, value) -> {
+                switch (key) {
+                    case "rps" -> builder.ratePerSecond(Double.parseDouble(value));
+                    case "burst" -> builder.burst(Integer.parseInt(value));
+                    case "maxInFlight" -> builder.maxInFlight(Integer.parseInt(value));
+                    default -> throw new IllegalArgumentException(configKey + ": unknown setting '" + key + "'");
+                }
+            });
+            overrides.put(path, builder.build());
+        });
+        return overrides;
+    }
+
+    RateLimiter newRateLimiter() {
+        if (ratePerSecond <= 0) return null;
+        return new RateLimiter(ratePerSecond, burst > 0 ? burst : (int) Math.ceil(ratePerSecond));
+    }
+}
@@ -0,0 +1,55 @@
+package utils.request.resilience;
+
+import config.Config;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Suite-wide cap on retries: at most {@code minRetries + ratio * requests} retries in total.
+ * Once a failing backend has used the budget up, requests fail on their first error instead of
+ * multiplying the load on it.
+ */
+public final class RetryBudget {
+
+    private static final RetryBudget GLOBAL = new RetryBudget(Config.retryBudgetRatio(), Config.retryBudgetMin());
+
+    private final double ratio;
+    private final long minRetries;
+    private final LongAdder requests = new LongAdder();
+    private final AtomicLong retries = new AtomicLong();
+    private final LongAdder denied = new LongAdder();
+
+    public RetryBudget(double ratio, long minRetries) {
+        this.ratio = ratio;
+        this.minRetries = minRetries;
+    }
+
+    public static RetryBudget global() { return GLOBAL; }
+
+    /** Counts a new logical request (not its retries). */
+    public void onRequest() { requests.increment(); }
+
+    public boolean tryAcquire() {
+        while (true) {
+            long used = retries.get();
+            if (used >= minRetries + (long) (ratio * requests.sum())) {
+                denied.increment();
+                return false;
+            }
+            if (retries.compareAndSet(used, used + 1)) return true;
+        }
+    }
+
+    public long requests() { return requests.sum(); }
+
+    public long retriesUsed() { return retries.get(); }
+
+    public long retriesDenied() { return denied.sum(); }
+
+    public void reset() {
+        requests.reset();
+        retries.set(0);
+        denied.reset();
+    }
+}
@@ -0,0 +1,143 @@
+package utils.request.resilience;
+
+import config.Config;
+import lombok.Builder;
+import lombok.Getter;
+import utils.enums.HttpStatusGroup;
+import utils.enums.SystemVar;
+import utils.request.path.IPath;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * When and how long to wait before retrying an HTTP call:
+ * exponential backoff with full jitter (random in [0, min(maxDelay, baseDelay * 2^(retry-1))]),
+ * Retry-After (seconds or HTTP date) honoured when the server sends it, no retry that would end past
+ * {@code deadline} (measured from the first attempt), and every retry drawn from the suite {@link RetryBudget}.
+ *
+ * Defaults come from API_RETRY_*; API_RETRY_OVERRIDES tunes single paths, e.g.
+ * {@code PET_ID:maxRetries=4,baseDelayMs=500;USER_LOGIN:maxRetries=0} (keys are ApiPath names, or the url
+ * for other IPath implementations; also deadlineMs, maxDelayMs, statuses=404|409).
+ */
+@Getter
+@Builder(toBuilder = true)
+public class RetryPolicy {
+
+    private static final int MAX_SHIFT = 30;
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final RetryPolicy DEFAULTS = fromConfig();
+    private static final Map<String, RetryPolicy> OVERRIDES = parseOverrides(Config.retryOverrides(), DEFAULTS);
+
+    @Builder.Default private final int maxRetries = 2;
+    @Builder.Default private final Duration baseDelay = Duration.ofMillis(250);
+    @Builder.Default private final Duration maxDelay = Duration.ofSeconds(4);
+    @Builder.Default private final Duration deadline = Duration.ofSeconds(15);
+    @Builder.Default private final Set<Integer> retryableStatuses = HttpStatusGroup.RETRYABLE_CODES;
+    @Builder.Default private final boolean respectRetryAfter = true;
+    @Builder.Default private final RetryBudget budget = RetryBudget.global();
+
+    public static RetryPolicy defaults() { return DEFAULTS; }
+
+    public static RetryPolicy forPath(IPath path) {
+        return OVERRIDES.getOrDefault(PathOverrides.keyOf(path), DEFAULTS);
+    }
+
+    /** Starts tracking one logical request; use the returned object for all of its attempts. */
+    public Attempts start() {
+        budget.onRequest();
+        return new Attempts(System.nanoTime());
+    }
+
+    /** Retry state of one logical request. Not thread-safe; async retries hand it from stage to stage. */
+    public final class Attempts {
+        private final long startNanos;
+        private int attempt = 1;
+
+        private Attempts(long startNanos) { this.startNanos = startNanos; }
+
+        /** 1-based number of the attempt in flight. */
+        public int attempt() { return attempt; }
+
+        /**
+         * Milliseconds to wait before the next attempt, or -1 when the response is final: status not retryable,
+         * retries used up, deadline would be exceeded or the suite retry budget is spent.
+         */
+        public long nextDelayMillis(int statusCode, String retryAfterHeader) {
+            if (!retryableStatuses.contains(statusCode) || attempt > maxRetries) return -1;
+
+            long retryAfterMillis = respectRetryAfter ? parseRetryAfterMillis(retryAfterHeader) : -1;
+            long delayMillis = retryAfterMillis >= 0 ? retryAfterMillis : jitteredBackoffMillis(attempt);
+            long elapsedMillis = Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+            if (elapsedMillis + delayMillis > deadline.toMillis()) return -1;
+            if (!budget.tryAcquire()) return -1;
+
+            attempt++;
+            return delayMillis;
+        }
+    }
+
+    /** Full-jitter backoff before retry number {@code retry} (1-based): random in [0, min(maxDelay, baseDelay * 2^(retry-1))]. */
+    public long jitteredBackoffMillis(int retry) {
+        long exponential = baseDelay.toMillis() << Math.min(MAX_SHIFT, Math.max(0, retry - 1));
+        long cap = Math.min(maxDelay.toMillis(), exponential);
+        return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    /** Retry-After as delay-seconds or an HTTP date; -1 when absent or unparseable. */
+    public static long parseRetryAfterMillis(String header) {
+        if (header == null || header.isBlank()) return -1;
+        String value = header.trim();
+        try {
+            return Math.max(0, Long.parseLong(value) * MILLIS_PER_SECOND);
+        } catch (NumberFormatException notSeconds) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toMillis());
+            } catch (DateTimeParseException notDate) {
+                return -1;
+            }
+        }
+    }
+
+    private static RetryPolicy fromConfig() {
+        return RetryPolicy.builder()
+                .maxRetries(Math.max(0, Config.retryMax()))
+                .baseDelay(Duration.ofMillis(Config.retryBaseDelayMillis()))
+                .maxDelay(Duration.ofMillis(Config.retryMaxDelayMillis()))
+                .deadline(Duration.ofMillis(Config.retryDeadlineMillis()))
+                .build();
+    }
+
+    /** API_RETRY_OVERRIDES {@code spec} as path key -> {@code defaults} with that path's settings applied. */
+    public static Map<String, RetryPolicy> parseOverrides(String spec, RetryPolicy defaults) {
+        Map<String, RetryPolicy> overrides = new HashMap<>();
+        PathOverrides.parse(SystemVar.API_RETRY_OVERRIDES.getEnvKey(), spec).forEach((path, settings) -> {
+            RetryPolicy.RetryPolicyBuilder builder = defaults.toBuilder();
+            settings.forEach((key, value) -> apply(builder, key, value));
+            overrides.put(path, builder.build());
+        });
+        return overrides;
+    }
+
+    private static void apply(RetryPolicy.RetryPolicyBuilder builder, String key, String value) {
+        switch (key) {
+            case "maxRetries" -> builder.maxRetries(Integer.parseInt(value));
+            case "baseDelayMs" -> builder.baseDelay(Duration.ofMillis(Long.parseLong(value)));
+            case "maxDelayMs" -> builder.maxDelay(Duration.ofMillis(Long.parseLong(value)));
+            case "deadlineMs" -> builder.deadline(Duration.ofMillis(Long.parseLong(value)));
+            case "retryAfter" -> builder.respectRetryAfter(Boolean.parseBoolean(value));
+            case "statuses" -> builder.retryableStatuses(Arrays.stream(value.split("\\|"))
+                    .map(String::trim).map(Integer::valueOf).collect(Collectors.toUnmodifiableSet()));
+            default -> throw new IllegalArgumentException("API_RETRY_OVERRIDES: unknown key '" + key + "'");
+        }
+    }
+}
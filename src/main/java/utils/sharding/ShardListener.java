@@ -0,0 +1,226 @@
+package utils.sharding;
+
+import config.Config;
+import org.testng.IConfigurationListener;
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static core.TestStepLogger.log;
+
+/**
+ * Schedules the suite from the durations of previous runs (SHARD_TIMINGS):
+ * - work is ordered longest first - test classes when testng.xml runs classes in parallel, otherwise single
+ *   test methods - and data-provider rows likewise, so the slowest work starts first and the workers finish
+ *   together instead of one of them running a long test at the tail;
+ * - with SHARD_COUNT &gt; 1 only this pod's slice runs: plain test methods of the classes it owns and the
+ *   data-provider rows it owns (see {@link ShardPlan}). Rows are identified by their index, so data providers
+ *   must return the same number of rows, in the same order, on every pod.
+ * Durations are recorded per test method, data-provider row and class (its @BeforeClass/@AfterClass) into
+ * API_METRICS_DIR/shard-timings.json. Unsharded runs also fold them into SHARD_TIMINGS (averaged with the
+ * previous value), so a local run schedules from the last ones; sharded runs get it from ShardMerger.
+ */
+public class ShardListener implements IMethodInterceptor, IDataProviderInterceptor, ITestListener, ISuiteListener,
+        IConfigurationListener {
+
+    private static final long DEFAULT_WEIGHT_MILLIS = 1_000;
+    private static final double SMOOTHING = 0.5;
+
+    private final Map<String, ShardPlan> plans = new ConcurrentHashMap<>();
+    private final Map<String, Integer> rowIndexes = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> timings = new ConcurrentHashMap<>();
+    private volatile Map<String, Long> previous;
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        List<IMethodInstance> kept = new ArrayList<>(methods);
+        ShardPlan plan = null;
+        if (Config.shardCount() > 1) {
+            plan = plan(context, methods);
+            ShardPlan shard = plan;
+            kept.removeIf(instance -> !instance.getMethod().isDataDriven()
+                    && !shard.owns(instance.getMethod().getRealClass().getName()));
+            log("Shard " + plan.index() + "/" + plan.count() + ": running " + kept.size() + " of " + methods.size()
+                    + " test methods, expected ~" + plan.expectedMillis() + " ms");
+        }
+        XmlSuite.ParallelMode parallel = context.getCurrentXmlTest().getParallel();
+        return longestFirst(kept, plan, parallel != XmlSuite.ParallelMode.METHODS);
+    }
+
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> rows, IDataProviderMethod dataProvider,
+                                        ITestNGMethod method, ITestContext context) {
+        ShardPlan plan = Config.shardCount() > 1 ? plan(context, List.of()) : null;
+        Map<String, Long> recorded = previous();
+        long fallback = fallbackMillis(recorded);
+        String className = method.getRealClass().getName();
+        List<Object[]> kept = new ArrayList<>();
+        Map<Object[], Long> weights = new IdentityHashMap<>();
+        for (int row = 0; rows.hasNext(); row++) {
+            Object[] parameters = rows.next();
+            String unit = ShardPlan.rowUnit(className, method.getMethodName(), row);
+            if (plan != null && !plan.owns(unit)) continue;
+            rowIndexes.put(rowKey(method, parameters), row);
+            weights.put(parameters, recorded.getOrDefault(unit, fallback));
+            kept.add(parameters);
+        }
+        kept.sort(Comparator.comparing(weights::get, Comparator.reverseOrder()));
+        return kept.iterator();
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) { record(result); }
+
+    @Override
+    public void onTestFailure(ITestResult result) { record(result); }
+
+    @Override
+    public void onConfigurationSuccess(ITestResult result) {
+        ITestNGMethod method = result.getMethod();
+        if (method.isBeforeClassConfiguration() || method.isAfterClassConfiguration()) {
+            add(method.getRealClass().getName(), result);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Map<String, Long> recorded = new HashMap<>();
+        timings.forEach((unit, millis) -> recorded.put(unit, millis.sum()));
+        try {
+            ShardTimings.write(Path.of(Config.metricsDir()).resolve(ShardTimings.FILE_NAME), recorded);
+            if (Config.shardCount() <= 1) {
+                Map<String, Long> persisted = new HashMap<>(previous());
+                recorded.forEach((unit, millis) -> persisted.merge(unit, millis,
+                        (before, now) -> Math.round(before * (1 - SMOOTHING) + now * SMOOTHING)));
+                ShardTimings.write(Path.of(Config.shardTimingsFile()), persisted);
+            }
+        } catch (IOException exception) {
+            log("Could not write test durations: " + exception.getMessage());
+        }
+    }
+
+    /** Stable sort, so methods without recorded durations keep their declaration order among themselves. */
+    private List<IMethodInstance> longestFirst(List<IMethodInstance> methods, ShardPlan plan, boolean byClass) {
+        Map<String, Long> recorded = previous();
+        long fallback = fallbackMillis(recorded);
+        Map<ITestNGMethod, Long> methodWeights = new IdentityHashMap<>();
+        Map<String, Long> classWeights = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            String className = method.getRealClass().getName();
+            long weight = methodWeight(method, recorded, fallback, plan);
+            methodWeights.put(method, weight);
+            classWeights.merge(className, weight, Long::sum);
+        }
+        classWeights.replaceAll((className, sum) -> sum + recorded.getOrDefault(className, 0L));
+        Comparator<IMethodInstance> byMethod = Comparator.comparing(instance -> methodWeights.get(instance.getMethod()), Comparator.reverseOrder());
+        Comparator<IMethodInstance> order = byMethod;
+        if (byClass) {
+            order = Comparator.<IMethodInstance, Long>comparing(instance -> classWeights.get(instance.getMethod().getRealClass().getName()), Comparator.reverseOrder())
+                    .thenComparing(instance -> instance.getMethod().getRealClass().getName())
+                    .thenComparing(byMethod);
+        }
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(order);
+        return ordered;
+    }
+
+    /** Plain method: its last duration. Data-driven: the sum of its rows (those of this shard when sharded). */
+    private static long methodWeight(ITestNGMethod method, Map<String, Long> recorded, long fallback, ShardPlan plan) {
+        String unit = method.getRealClass().getName() + "." + method.getMethodName();
+        if (!method.isDataDriven()) return recorded.getOrDefault(unit, fallback);
+        String rowPrefix = unit + "#";
+        long sum = 0;
+        boolean found = false;
+        for (Map.Entry<String, Long> entry : recorded.entrySet()) {
+            if (entry.getKey().startsWith(rowPrefix) && (plan == null || plan.owns(entry.getKey()))) {
+                sum += entry.getValue();
+                found = true;
+            }
+        }
+        return found ? sum : fallback;
+    }
+
+    private void record(ITestResult result) {
+        ITestNGMethod method = result.getMethod();
+        String className = method.getRealClass().getName();
+        if (!method.isDataDriven()) {
+            add(className + "." + method.getMethodName(), result);
+            return;
+        }
+        Integer row = rowIndexes.get(rowKey(method, result.getParameters()));
+        if (row != null) add(ShardPlan.rowUnit(className, method.getMethodName(), row), result);
+    }
+
+    private void add(String unit, ITestResult result) {
+        timings.computeIfAbsent(unit, ignored -> new LongAdder()).add(Math.max(0, result.getEndMillis() - result.getStartMillis()));
+    }
+
+    /**
+     * One plan per &lt;test&gt;. Units are its classes, weighing their class setup plus their plain methods, and the
+     * data-provider rows known from the previous durations.
+     */
+    private ShardPlan plan(ITestContext context, List<IMethodInstance> methods) {
+        return plans.computeIfAbsent(context.getName(), ignored -> {
+            Map<String, Long> recorded = previous();
+            Set<String> classes = new TreeSet<>();
+            for (IMethodInstance instance : methods) classes.add(instance.getMethod().getRealClass().getName());
+            Set<String> units = new TreeSet<>(classes);
+            Map<String, Long> weights = new HashMap<>();
+            recorded.forEach((unit, millis) -> {
+                int row = unit.lastIndexOf('#');
+                int dot = unit.lastIndexOf('.', row < 0 ? unit.length() : row);
+                String owner = dot > 0 ? unit.substring(0, dot) : unit;
+                if (row > 0 && classes.contains(owner)) {
+                    units.add(unit);
+                    weights.put(unit, millis);
+                } else if (classes.contains(unit)) {
+                    weights.merge(unit, millis, Long::sum);
+                } else if (row < 0 && classes.contains(owner)) {
+                    weights.merge(owner, millis, Long::sum);
+                }
+            });
+            return ShardPlan.fromConfig(units, weights);
+        });
+    }
+
+    private Map<String, Long> previous() {
+        Map<String, Long> loaded = previous;
+        if (loaded == null) {
+            loaded = ShardTimings.read(Path.of(Config.shardTimingsFile()));
+            previous = loaded;
+        }
+        return loaded;
+    }
+
+    private static long fallbackMillis(Map<String, Long> recorded) {
+        return Math.round(recorded.values().stream().mapToLong(Long::longValue).average().orElse(DEFAULT_WEIGHT_MILLIS));
+    }
+
+    private static String rowKey(ITestNGMethod method, Object[] parameters) {
+        return method.getQualifiedName() + Arrays.deepToString(parameters);
+    }
+}
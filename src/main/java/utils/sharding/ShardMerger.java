@@ -0,0 +1,73 @@
+package utils.sharding;
+
+import utils.metrics.RequestMetrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Combines the output of all shards into one result set:
+ * - allure-results: files are copied side by side (result files have unique names; shared files such as
+ *   environment.properties are taken from the first shard that has them)
+ * - metrics: latency histograms and status counts are merged exactly, breaker transitions are interleaved by
+ *   time and the shard timings are combined into the shard-timings.json for the next run.
+ *
+ * Every shard directory is expected to hold {@code allure-results/} and {@code metrics/}:
+ * java -cp ... utils.sharding.ShardMerger /results/merged /results/run-1/shard-0 /results/run-1/shard-1 ...
+ */
+public final class ShardMerger {
+
+    private static final String ALLURE_RESULTS = "allure-results";
+    private static final String METRICS = "metrics";
+
+    private ShardMerger() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ShardMerger <output dir> <shard dir>...");
+            System.exit(2);
+        }
+        Path output = Path.of(args[0]);
+        List<Path> shards = Arrays.stream(args, 1, args.length).map(Path::of).toList();
+        merge(output, shards);
+        System.out.println("Merged " + shards.size() + " shard(s) into " + output.toAbsolutePath());
+    }
+
+    public static void merge(Path output, List<Path> shards) throws IOException {
+        Path allureOutput = Files.createDirectories(output.resolve(ALLURE_RESULTS));
+        RequestMetrics metrics = RequestMetrics.global();
+        Map<String, Long> timings = new HashMap<>();
+
+        for (Path shard : shards) {
+            copyAllureResults(shard.resolve(ALLURE_RESULTS), allureOutput);
+            Path shardMetrics = shard.resolve(METRICS);
+            if (Files.isDirectory(shardMetrics)) {
+                metrics.mergeFrom(shardMetrics);
+                // a class split over shards runs its setup on each of them: keep the longest
+                ShardTimings.read(shardMetrics.resolve(ShardTimings.FILE_NAME)).forEach((unit, millis) -> timings.merge(unit, millis, Math::max));
+            }
+        }
+        Path metricsOutput = output.resolve(METRICS);
+        metrics.writeSummary(metricsOutput);
+        ShardTimings.write(metricsOutput.resolve(ShardTimings.FILE_NAME), timings);
+    }
+
+    private static void copyAllureResults(Path source, Path target) throws IOException {
+        if (!Files.isDirectory(source)) return;
+        try (Stream<Path> files = Files.list(source)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Path destination = target.resolve(file.getFileName().toString());
+                if (Files.isRegularFile(file) && !Files.exists(destination)) {
+                    Files.copy(file, destination, StandardCopyOption.COPY_ATTRIBUTES);
+                }
+            }
+        }
+    }
+}
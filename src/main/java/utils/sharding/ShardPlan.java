@@ -0,0 +1,82 @@
+package utils.sharding;
+
+import config.Config;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Which shard runs which unit of work. Units are test classes (all their plain test methods) and single
+ * data-provider rows ({@link #rowUnit}). Units with recorded timings are spread by longest-first greedy
+ * assignment (each unit goes to the least loaded shard); units never seen before fall back to a hash of their
+ * name. Both only depend on the unit names and the timings file, so every pod computes the same plan.
+ */
+public final class ShardPlan {
+
+    private static final long DEFAULT_WEIGHT_MILLIS = 1_000;
+
+    private final int index;
+    private final int count;
+    private final Map<String, Integer> owners;
+    private final long[] loads;
+
+    private ShardPlan(int index, int count, Map<String, Integer> owners, long[] loads) {
+        this.index = index;
+        this.count = count;
+        this.owners = owners;
+        this.loads = loads;
+    }
+
+    /** Plan for this pod: SHARD_INDEX (or the Indexed Job's JOB_COMPLETION_INDEX) of SHARD_COUNT. */
+    public static ShardPlan fromConfig(Collection<String> units, Map<String, Long> timings) {
+        return assign(Config.shardIndex(), Config.shardCount(), units, timings);
+    }
+
+    public static ShardPlan assign(int index, int count, Collection<String> units, Map<String, Long> timings) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Shard index must be in [0, " + count + "), got " + index);
+        }
+        long defaultWeight = Math.round(timings.values().stream().mapToLong(Long::longValue).average().orElse(DEFAULT_WEIGHT_MILLIS));
+        List<String> ordered = new ArrayList<>(new TreeSet<>(units));
+        Map<String, Long> weights = new HashMap<>();
+        for (String unit : ordered) weights.put(unit, timings.getOrDefault(unit, defaultWeight));
+        ordered.sort(Comparator.comparing((String unit) -> weights.get(unit)).reversed().thenComparing(Comparator.naturalOrder()));
+
+        Map<String, Integer> owners = new HashMap<>();
+        long[] loads = new long[count];
+        for (String unit : ordered) {
+            int lightest = 0;
+            for (int shard = 1; shard < count; shard++) {
+                if (loads[shard] < loads[lightest]) lightest = shard;
+            }
+            owners.put(unit, lightest);
+            loads[lightest] += weights.get(unit);
+        }
+        return new ShardPlan(index, count, owners, loads);
+    }
+
+    public static String rowUnit(String className, String methodName, int row) {
+        return className + "." + methodName + "#" + row;
+    }
+
+    public boolean isSharded() { return count > 1; }
+
+    public boolean owns(String unit) { return ownerOf(unit) == index; }
+
+    public int ownerOf(String unit) {
+        Integer owner = owners.get(unit);
+        return owner != null ? owner : Math.floorMod(unit.hashCode(), count);
+    }
+
+    /** Expected duration of this shard from the recorded timings (units without timings count as the mean). */
+    public long expectedMillis() { return loads[index]; }
+
+    public int index() { return index; }
+
+    public int count() { return count; }
+}
@@ -0,0 +1,34 @@
+package utils.sharding;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import utils.helpers.JsonHelper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+/** shard-timings.json: milliseconds per shard unit (see {@link ShardPlan}), recorded by one run, used by the next. */
+public final class ShardTimings {
+
+    public static final String FILE_NAME = "shard-timings.json";
+
+    private ShardTimings() {}
+
+    /** Empty when the file does not exist (first run: every unit weighs the same). */
+    public static Map<String, Long> read(Path file) {
+        if (file == null || !Files.isRegularFile(file)) return Map.of();
+        try {
+            return JsonHelper.read(Files.readString(file), new TypeReference<TreeMap<String, Long>>() { });
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to read shard timings " + file, exception);
+        }
+    }
+
+    public static void write(Path file, Map<String, Long> timings) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, JsonHelper.toJson(new TreeMap<>(timings)));
+    }
+}
@@ -0,0 +1,104 @@
+package utils.stub;
+
+import lombok.Builder;
+import lombok.Getter;
+import utils.enums.HttpStatusCode;
+import utils.enums.SystemVar;
+import utils.request.resilience.PathOverrides;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Faults injected by {@link FaultProxy} into the calls of one ApiPath. Rates are probabilities per request (0..1).
+ *
+ * API_FAULTS, in the API_RETRY_OVERRIDES format, e.g.
+ * {@code *:delayMs=lognormal|40|0.8;PET_ID:errorRate=0.2,errorStatus=502|429,retryAfter=1;USER_LOGIN:resetRate=0.1}
+ * ('*' applies to paths without an entry of their own). Keys: delayMs (see {@link Delay}), errorRate, errorStatus,
+ * retryAfter (seconds), resetRate, slowRate, slowBytesPerSec. errorStatus defaults to 502, which the default retry
+ * policy retries, so an error rate alone exercises retries and backoff rather than failing the call outright.
+ */
+@Getter
+@Builder
+final class FaultPlan {
+
+    static final String ANY_PATH = "*";
+    static final FaultPlan NONE = FaultPlan.builder().build();
+
+    @Builder.Default private final Delay delay = Delay.NONE;
+    @Builder.Default private final double errorRate = 0;
+    @Builder.Default private final List<Integer> errorStatuses = List.of(HttpStatusCode.BAD_GATEWAY.getStatusCode());
+    private final String retryAfter;
+    @Builder.Default private final double resetRate = 0;
+    @Builder.Default private final double slowRate = 0;
+    @Builder.Default private final int slowBytesPerSec = 1024;
+
+    static Map<String, FaultPlan> parse(String spec) {
+        Map<String, FaultPlan> plans = new HashMap<>();
+        PathOverrides.parse(SystemVar.API_FAULTS.getEnvKey(), spec).forEach((path, settings) -> {
+            FaultPlan.FaultPlanBuilder builder = FaultPlan.builder();
+            settings.forEach((key, value) -> apply(builder, key, value));
+            plans.put(path, builder.build());
+        });
+        return plans;
+    }
+
+    private static void apply(FaultPlan.FaultPlanBuilder builder, String key, String value) {
+        switch (key) {
+            case "delayMs" -> builder.delay(Delay.parse(value));
+            case "errorRate" -> builder.errorRate(rate(key, value));
+            case "errorStatus" -> builder.errorStatuses(Arrays.stream(value.split("\\|")).map(String::trim).map(Integer::valueOf).toList());
+            case "retryAfter" -> builder.retryAfter(value);
+            case "resetRate" -> builder.resetRate(rate(key, value));
+            case "slowRate" -> builder.slowRate(rate(key, value));
+            case "slowBytesPerSec" -> builder.slowBytesPerSec(Math.max(1, Integer.parseInt(value)));
+            default -> throw new IllegalArgumentException("API_FAULTS: unknown key '" + key + "'");
+        }
+    }
+
+    private static double rate(String key, String value) {
+        double rate = Double.parseDouble(value);
+        if (rate < 0 || rate > 1) throw new IllegalArgumentException("API_FAULTS: " + key + " must be within 0..1, got " + value);
+        return rate;
+    }
+
+    static boolean roll(double rate) { return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate; }
+
+    int errorStatus() { return errorStatuses.get(ThreadLocalRandom.current().nextInt(errorStatuses.size())); }
+
+    /**
+     * Added latency in ms: {@code 100} (fixed), {@code uniform|10|200}, {@code exponential|50} (mean) or
+     * {@code lognormal|40|0.8} (median, sigma; a long tail like real services).
+     */
+    record Delay(String kind, double a, double b) {
+        static final Delay NONE = new Delay("fixed", 0, 0);
+
+        static Delay parse(String value) {
+            String[] parts = value.split("\\|");
+            try {
+                return switch (parts[0].trim()) {
+                    case "uniform" -> new Delay("uniform", Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                    case "exponential" -> new Delay("exponential", Double.parseDouble(parts[1]), 0);
+                    case "lognormal" -> new Delay("lognormal", Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                    default -> new Delay("fixed", Double.parseDouble(parts[0]), 0);
+                };
+            } catch (RuntimeException exception) {
+                throw new IllegalArgumentException("API_FAULTS: bad delayMs '" + value + "'", exception);
+            }
+        }
+
+        long sampleMillis() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            double millis = switch (kind) {
+                case "uniform" -> a + random.nextDouble() * (b - a);
+                case "exponential" -> -a * Math.log(1 - random.nextDouble());
+                case "lognormal" -> a * Math.exp(b * random.nextGaussian());
+                default -> a;
+            };
+            return Math.max(0, Math.round(millis));
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package utils.stub;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import config.Config;
+import utils.enums.ApiPath;
+import utils.enums.HttpHeader;
+import utils.enums.MediaType;
+import utils.helpers.JsonHelper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local HTTP proxy that forwards to an upstream Petstore and injects faults per ApiPath ({@link FaultPlan}, API_FAULTS):
+ * added latency from a distribution, 429/5xx answers (with Retry-After if configured) that never reach upstream,
+ * connections dropped without a response after upstream handled the call, and bodies trickled at a few KB/s.
+ * Together with the request metrics it shows what retries, backoff and the circuit breaker do under tail latency.
+ *
+ * API_FAULT_PROXY starts it on the host, port and path of BASE_URL (see {@link #startIfEnabled()}); it forwards to
+ * API_FAULT_UPSTREAM or, with API_LOCAL_STUB, to the local stub, which then moves to a free port.
+ */
+public final class FaultProxy implements AutoCloseable {
+
+    private static final Set<String> HOP_BY_HOP = Set.of("connection", "content-length", "expect", "host", "http2-settings",
+            "keep-alive", "transfer-encoding", "upgrade");
+    private static final int DEFAULT_PORT = 80;
+    private static final int SLOW_CHUNKS_PER_SECOND = 10;
+    private static final Duration UPSTREAM_TIMEOUT = Duration.ofSeconds(30);
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private static FaultProxy local;
+
+    private final String upstream;
+    private final Map<String, FaultPlan> plans;
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(UPSTREAM_TIMEOUT)
+            .build();
+    // platform threads for the same reason as PetstoreStub; delays and slow bodies sleep on them
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "fault-proxy");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final HttpServer server;
+    private final String basePath;
+
+    private FaultProxy(InetSocketAddress address, String basePath, String upstream, Map<String, FaultPlan> plans) throws IOException {
+        System.getProperties().putIfAbsent("sun.net.httpserver.nodelay", "true");
+        this.basePath = basePath;
+        this.upstream = upstream.endsWith("/") ? upstream.substring(0, upstream.length() - 1) : upstream;
+        this.plans = plans;
+        this.server = HttpServer.create(address, 0);
+        server.createContext(basePath.isEmpty() ? "/" : basePath + "/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /** Proxy on loopback in front of {@code upstream}; port 0 picks a free one. {@code faults} uses the API_FAULTS format. */
+    public static FaultProxy start(int port, String upstream, String faults) throws IOException {
+        return new FaultProxy(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), "", upstream, FaultPlan.parse(faults));
+    }
+
+    /**
+     * With API_FAULT_PROXY on, starts the JVM's proxy (once) on the host, port and path of BASE_URL and returns it;
+     * returns null otherwise. Starts the local stub first when that is enabled too.
+     */
+    public static synchronized FaultProxy startIfEnabled() {
+        if (!Config.faultProxy()) return null;
+        if (local != null) return local;
+        PetstoreStub stub = PetstoreStub.startLocalIfEnabled();
+        String upstream = stub != null ? stub.baseUrl() : Config.faultUpstream();
+        if (upstream.isBlank()) {
+            throw new IllegalStateException("API_FAULT_PROXY needs API_FAULT_UPSTREAM (or API_LOCAL_STUB) to forward to");
+        }
+        URI baseUrl = URI.create(Config.baseApiUrl());
+        String path = baseUrl.getPath() == null || baseUrl.getPath().equals("/") ? "" : baseUrl.getPath();
+        try {
+            local = new FaultProxy(new InetSocketAddress(baseUrl.getHost(), baseUrl.getPort() < 0 ? DEFAULT_PORT : baseUrl.getPort()),
+                    path, upstream, FaultPlan.parse(Config.faults()));
+        } catch (IOException exception) {
+            throw new IllegalStateException("Cannot start the fault proxy on " + baseUrl
+                    + " (BASE_URL must be a free local address, e.g. http://127.0.0.1:8090/v2)", exception);
+        }
+        return local;
+    }
+
+    /** The JVM's proxy if {@link #startIfEnabled()} started one. */
+    public static synchronized FaultProxy current() { return local; }
+
+    public String baseUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort() + basePath;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        synchronized (FaultProxy.class) {
+            if (local == this) local = null;
+        }
+    }
+
+    /** Requests and injected faults per ApiPath, e.g. to attach next to the request metrics. */
+    public String summaryJson() {
+        ObjectNode summary = NODES.objectNode();
+        new TreeMap<>(counters).forEach((path, count) -> summary.putObject(path)
+                .put("requests", count.requests.sum())
+                .put("delayedMs", count.delayedMillis.sum())
+                .put("errors", count.errors.sum())
+                .put("resets", count.resets.sum())
+                .put("slowBodies", count.slowBodies.sum()));
+        return JsonHelper.toJson(summary);
+    }
+
+    // ---------- Proxying ----------
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String relative = exchange.getRequestURI().getRawPath().substring(basePath.length());
+        String pathKey = pathKey(relative);
+        FaultPlan plan = plans.getOrDefault(pathKey, plans.getOrDefault(FaultPlan.ANY_PATH, FaultPlan.NONE));
+        Counters count = counters.computeIfAbsent(pathKey, ignored -> new Counters());
+        count.requests.increment();
+        try (exchange) {
+            byte[] requestBody = exchange.getRequestBody().readAllBytes();
+            long delayMillis = plan.getDelay().sampleMillis();
+            if (delayMillis > 0) {
+                count.delayedMillis.add(delayMillis);
+                Thread.sleep(delayMillis);
+            }
+            if (FaultPlan.roll(plan.getErrorRate())) {
+                count.errors.increment();
+                sendError(exchange, plan);
+                return;
+            }
+            HttpResponse<byte[]> response = forward(exchange, relative, requestBody);
+            if (FaultPlan.roll(plan.getResetRate())) {
+                // closing before the response headers makes the server drop the connection
+                count.resets.increment();
+                return;
+            }
+            boolean slow = FaultPlan.roll(plan.getSlowRate());
+            if (slow) count.slowBodies.increment();
+            send(exchange, response, slow ? plan.getSlowBytesPerSec() : 0);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private HttpResponse<byte[]> forward(HttpExchange exchange, String relative, byte[] body) throws IOException, InterruptedException {
+        String query = exchange.getRequestURI().getRawQuery();
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(upstream + relative + (query == null ? "" : "?" + query)))
+                .timeout(UPSTREAM_TIMEOUT)
+                .method(exchange.getRequestMethod(), body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body));
+        exchange.getRequestHeaders().forEach((name, values) -> {
+            if (!HOP_BY_HOP.contains(name.toLowerCase(Locale.ROOT))) values.forEach(value -> request.header(name, value));
+        });
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static void send(HttpExchange exchange, HttpResponse<byte[]> response, int bytesPerSecond) throws IOException, InterruptedException {
+        response.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":") && !HOP_BY_HOP.contains(name.toLowerCase(Locale.ROOT))) exchange.getResponseHeaders().put(name, values);
+        });
+        byte[] body = response.body();
+        exchange.sendResponseHeaders(response.statusCode(), body.length == 0 ? -1 : body.length);
+        if (body.length == 0) return;
+        try (OutputStream out = exchange.getResponseBody()) {
+            if (bytesPerSecond <= 0) {
+                out.write(body);
+                return;
+            }
+            int chunk = Math.max(1, bytesPerSecond / SLOW_CHUNKS_PER_SECOND);
+            for (int offset = 0; offset < body.length; offset += chunk) {
+                out.write(body, offset, Math.min(chunk, body.length - offset));
+                out.flush();
+                Thread.sleep(1000L / SLOW_CHUNKS_PER_SECOND);
+            }
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, FaultPlan plan) throws IOException {
+        int status = plan.errorStatus();
+        byte[] body = JsonHelper.toJson(NODES.objectNode().put("code", status).put("type", "unknown")
+                .put("message", "injected by fault proxy")).getBytes(StandardCharsets.UTF_8);
+        if (plan.getRetryAfter() != null) exchange.getResponseHeaders().set(HttpHeader.RETRY_AFTER.getKey(), plan.getRetryAfter());
+        exchange.getResponseHeaders().set(HttpHeader.CONTENT_TYPE.getKey(), MediaType.APPLICATION_JSON.getValue());
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /** ApiPath name of a concrete path: the template with matching literals, the most literal one winning ("/pet/findByStatus" over "/pet/%s"). */
+    static String pathKey(String rawPath) {
+        String[] segments = segments(rawPath);
+        String best = rawPath;
+        int bestLiterals = -1;
+        for (ApiPath path : ApiPath.values()) {
+            String[] template = segments(path.url());
+            if (template.length != segments.length) continue;
+            int literals = 0;
+            boolean matches = true;
+            for (int index = 0; index < template.length && matches; index++) {
+                if (template[index].equals("%s")) continue;
+                matches = template[index].equals(segments[index]);
+                literals++;
+            }
+            if (matches && literals > bestLiterals) {
+                best = path.name();
+                bestLiterals = literals;
+            }
+        }
+        return best;
+    }
+
+    private static String[] segments(String path) {
+        return Arrays.stream(path.split("/")).filter(segment -> !segment.isEmpty()).toArray(String[]::new);
+    }
+
+    private static final class Counters {
+        final LongAdder requests = new LongAdder();
+        final LongAdder delayedMillis = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder resets = new LongAdder();
+        final LongAdder slowBodies = new LongAdder();
+    }
+}
@@ -0,0 +1,114 @@
+package utils.stub;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import utils.helpers.JsonHelper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory state of the local Petstore: pets and orders by id, users by username, in concurrent maps.
+ * Like the real service it keeps whatever JSON the client sent (unknown fields survive a round trip).
+ * Entries are immutable: the body is serialized once on write, so reads only copy bytes to the socket.
+ */
+final class PetstoreData {
+
+    /** Ids handed out for bodies without one; far above what the fixtures and flows use. */
+    private static final long FIRST_GENERATED_ID = 1L << 50;
+
+    private final Map<Long, Doc> pets = new ConcurrentHashMap<>();
+    private final Map<Long, Doc> orders = new ConcurrentHashMap<>();
+    private final Map<String, Doc> users = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong(FIRST_GENERATED_ID);
+
+    Doc savePet(ObjectNode pet) {
+        long id = assignId(pet);
+        Doc doc = Doc.of(pet);
+        pets.put(id, doc);
+        return doc;
+    }
+
+    Doc pet(long id) { return pets.get(id); }
+
+    boolean deletePet(long id) { return pets.remove(id) != null; }
+
+    /** Form update of POST /pet/{id}; null fields are left as they are. Returns null for an unknown pet. */
+    Doc updatePet(long id, String name, String status) {
+        return pets.computeIfPresent(id, (key, current) -> {
+            ObjectNode pet = current.node().deepCopy();
+            if (name != null) pet.put("name", name);
+            if (status != null) pet.put("status", status);
+            return Doc.of(pet);
+        });
+    }
+
+    List<ObjectNode> petsByStatus(Set<String> statuses) {
+        return pets.values().stream()
+                .map(Doc::node)
+                .filter(pet -> statuses.contains(pet.path("status").asText()))
+                .toList();
+    }
+
+    /** Pet count per status, as GET /store/inventory reports it. */
+    Map<String, Long> inventory() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Doc pet : pets.values()) {
+            String status = pet.node().path("status").asText(null);
+            if (status != null) counts.merge(status, 1L, Long::sum);
+        }
+        return counts;
+    }
+
+    Doc saveOrder(ObjectNode order) {
+        long id = assignId(order);
+        Doc doc = Doc.of(order);
+        orders.put(id, doc);
+        return doc;
+    }
+
+    Doc order(long id) { return orders.get(id); }
+
+    boolean deleteOrder(long id) { return orders.remove(id) != null; }
+
+    /** Stores the user under its username; returns the (possibly generated) id. */
+    long saveUser(ObjectNode user) {
+        long id = assignId(user);
+        users.put(user.path("username").asText(), Doc.of(user));
+        return id;
+    }
+
+    void saveUsers(Collection<ObjectNode> batch) { batch.forEach(this::saveUser); }
+
+    Doc user(String username) { return users.get(username); }
+
+    /** PUT /user/{username}: replaces the user (the body may rename it). Returns the id, or -1 for an unknown user. */
+    long replaceUser(String username, ObjectNode user) {
+        if (users.remove(username) == null) return -1;
+        if (!user.hasNonNull("username")) user.put("username", username);
+        return saveUser(user);
+    }
+
+    boolean deleteUser(String username) { return users.remove(username) != null; }
+
+    private long assignId(ObjectNode body) {
+        long id = body.path("id").asLong(0);
+        if (id == 0) {
+            id = ids.incrementAndGet();
+            body.put("id", id);
+        }
+        return id;
+    }
+
+    /** A stored body and its serialized form. */
+    record Doc(ObjectNode node, byte[] json) {
+        static Doc of(ObjectNode node) {
+            return new Doc(node, JsonHelper.toJson(node).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
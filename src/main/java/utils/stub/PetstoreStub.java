@@ -0,0 +1,326 @@
+package utils.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import config.Config;
+import utils.enums.HttpHeader;
+import utils.enums.HttpStatusCode;
+import utils.enums.MediaType;
+import utils.helpers.JsonHelper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for the Petstore v2 API: every {@link utils.enums.ApiPath} endpoint, backed by {@link PetstoreData}.
+ * Runs on the JDK's built-in HTTP server (NIO selector, pooled daemon threads), starts in a few milliseconds
+ * and needs no network. The handler threads are platform threads, so the stub keeps serving however busy the
+ * virtual-thread carriers of its callers are. Responses follow the public service: the stored body for pets, orders
+ * and users, {"code","type","message"} for everything else, 404 for unknown ids.
+ *
+ * env=local (API_LOCAL_STUB) starts it on the host and port of BASE_URL, see {@link #startLocalIfEnabled()};
+ * standalone: mvn -ntp compile exec:java -Dexec.mainClass=utils.stub.PetstoreStub -Dexec.args=8089
+ */
+public final class PetstoreStub implements AutoCloseable {
+
+    private static final String BASE_PATH = "/v2";
+    private static final int DEFAULT_PORT = 8089;
+    private static final Pattern FILE_NAME = Pattern.compile("filename=\"([^\"]*)\"");
+    private static final Pattern METADATA = Pattern.compile("name=\"additionalMetadata\"\\r\\n\\r\\n([^\\r]*)");
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private static PetstoreStub local;
+
+    private final PetstoreData data = new PetstoreData();
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "petstore-stub");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final HttpServer server;
+    private final String basePath;
+
+    private PetstoreStub(InetSocketAddress address, String basePath) throws IOException {
+        // headers and body go out as separate writes; without TCP_NODELAY every call waits for a delayed ACK
+        System.getProperties().putIfAbsent("sun.net.httpserver.nodelay", "true");
+        this.basePath = basePath;
+        this.server = HttpServer.create(address, 0);
+        server.createContext(basePath.isEmpty() ? "/" : basePath + "/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /** Starts an empty stub on loopback; port 0 picks a free one (see {@link #baseUrl()}). */
+    public static PetstoreStub start(int port) throws IOException {
+        return new PetstoreStub(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BASE_PATH);
+    }
+
+    /**
+     * With API_LOCAL_STUB on, starts the JVM's stub (once) on the host, port and path of BASE_URL and returns it;
+     * returns null otherwise. Clients read BASE_URL when they are built, so the address is fixed up front.
+     * With API_FAULT_PROXY on, the proxy takes that address and the stub a free loopback port behind it.
+     */
+    public static synchronized PetstoreStub startLocalIfEnabled() {
+        if (!Config.localStub()) return null;
+        if (local != null) return local;
+        URI baseUrl = URI.create(Config.baseApiUrl());
+        int port = baseUrl.getPort() < 0 ? DEFAULT_PORT : baseUrl.getPort();
+        String path = baseUrl.getPath() == null || baseUrl.getPath().equals("/") ? "" : baseUrl.getPath();
+        try {
+            local = Config.faultProxy()
+                    ? new PetstoreStub(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), path)
+                    : new PetstoreStub(new InetSocketAddress(baseUrl.getHost(), port), path);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Cannot start the local Petstore stub on " + baseUrl
+                    + " (port in use? set BASE_URL to another port)", exception);
+        }
+        return local;
+    }
+
+    public static void main(String[] args) throws IOException {
+        PetstoreStub stub = start(args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT);
+        System.out.println("Petstore stub listening on " + stub.baseUrl());
+    }
+
+    public String baseUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort() + basePath;
+    }
+
+    public int port() { return server.getAddress().getPort(); }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        synchronized (PetstoreStub.class) {
+            if (local == this) local = null;
+        }
+    }
+
+    // ---------- Routing ----------
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            Request request = new Request(exchange.getRequestMethod(),
+                    segments(exchange.getRequestURI().getRawPath().substring(basePath.length())),
+                    parseForm(exchange.getRequestURI().getRawQuery()), body);
+            Reply reply;
+            try {
+                reply = route(request);
+            } catch (IllegalArgumentException badInput) {
+                reply = message(HttpStatusCode.BAD_REQUEST, "unknown", "bad input");
+            }
+            send(exchange, reply);
+        }
+    }
+
+    private Reply route(Request request) {
+        if (request.path().length == 0) return notFound();
+        return switch (request.path()[0]) {
+            case "pet" -> pet(request);
+            case "store" -> store(request);
+            case "user" -> user(request);
+            default -> notFound();
+        };
+    }
+
+    private Reply pet(Request request) {
+        String[] path = request.path();
+        String method = request.method();
+        if (path.length == 1 && (method.equals("POST") || method.equals("PUT"))) {
+            return json(data.savePet(request.object()));
+        }
+        if (path.length == 2 && path[1].equals("findByStatus") && method.equals("GET")) {
+            Set<String> statuses = new HashSet<>();
+            request.query().getOrDefault("status", List.of()).forEach(value -> statuses.addAll(Arrays.asList(value.split(","))));
+            ArrayNode pets = NODES.arrayNode();
+            data.petsByStatus(statuses).forEach(pets::add);
+            return json(pets);
+        }
+        if (path.length < 2) return notFound();
+        long id = id(path[1]);
+        if (path.length == 3 && path[2].equals("uploadImage") && method.equals("POST")) {
+            return data.pet(id) == null ? notFound() : uploaded(request.body());
+        }
+        if (path.length != 2) return notFound();
+        return switch (method) {
+            case "GET" -> found(data.pet(id), "Pet not found");
+            case "DELETE" -> data.deletePet(id) ? message(HttpStatusCode.OK, "unknown", path[1]) : empty(HttpStatusCode.NOT_FOUND);
+            case "POST" -> {
+                Map<String, List<String>> form = parseForm(new String(request.body(), StandardCharsets.UTF_8));
+                PetstoreData.Doc pet = data.updatePet(id, first(form, "name"), first(form, "status"));
+                yield pet == null ? message(HttpStatusCode.NOT_FOUND, "unknown", "not found") : message(HttpStatusCode.OK, "unknown", path[1]);
+            }
+            default -> notAllowed();
+        };
+    }
+
+    private Reply store(Request request) {
+        String[] path = request.path();
+        String method = request.method();
+        if (path.length == 2 && path[1].equals("inventory") && method.equals("GET")) {
+            ObjectNode inventory = NODES.objectNode();
+            data.inventory().forEach(inventory::put);
+            return json(inventory);
+        }
+        if (path.length < 2 || !path[1].equals("order")) return notFound();
+        if (path.length == 2) return method.equals("POST") ? json(data.saveOrder(request.object())) : notAllowed();
+        if (path.length != 3) return notFound();
+        long id = id(path[2]);
+        return switch (method) {
+            case "GET" -> found(data.order(id), "Order not found");
+            case "DELETE" -> data.deleteOrder(id)
+                    ? message(HttpStatusCode.OK, "unknown", path[2])
+                    : message(HttpStatusCode.NOT_FOUND, "unknown", "Order Not Found");
+            default -> notAllowed();
+        };
+    }
+
+    private Reply user(Request request) {
+        String[] path = request.path();
+        String method = request.method();
+        if (path.length == 1) {
+            return method.equals("POST") ? message(HttpStatusCode.OK, "unknown", String.valueOf(data.saveUser(request.object()))) : notAllowed();
+        }
+        if (path.length != 2) return notFound();
+        String name = path[1];
+        if (method.equals("POST") && (name.equals("createWithArray") || name.equals("createWithList"))) {
+            JsonNode users = request.json();
+            if (!users.isArray()) throw new IllegalArgumentException("Expected a JSON array");
+            List<ObjectNode> batch = new ArrayList<>();
+            users.forEach(user -> batch.add(object(user)));
+            data.saveUsers(batch);
+            return message(HttpStatusCode.OK, "unknown", "ok");
+        }
+        if (method.equals("GET") && name.equals("login")) {
+            return message(HttpStatusCode.OK, "unknown", "logged in user session:" + System.nanoTime());
+        }
+        if (method.equals("GET") && name.equals("logout")) return message(HttpStatusCode.OK, "unknown", "ok");
+        return switch (method) {
+            case "GET" -> found(data.user(name), "User not found");
+            case "PUT" -> {
+                long id = data.replaceUser(name, request.object());
+                yield id < 0 ? empty(HttpStatusCode.NOT_FOUND) : message(HttpStatusCode.OK, "unknown", String.valueOf(id));
+            }
+            case "DELETE" -> data.deleteUser(name) ? message(HttpStatusCode.OK, "unknown", name) : empty(HttpStatusCode.NOT_FOUND);
+            default -> notAllowed();
+        };
+    }
+
+    /** Multipart body is not decoded: only the file name, metadata and size end up in the message. */
+    private static Reply uploaded(byte[] body) {
+        String text = new String(body, StandardCharsets.ISO_8859_1);
+        Matcher fileName = FILE_NAME.matcher(text);
+        Matcher metadata = METADATA.matcher(text);
+        return message(HttpStatusCode.OK, "unknown", "additionalMetadata: " + (metadata.find() ? metadata.group(1) : "null")
+                + "\nFile uploaded to ./" + (fileName.find() ? fileName.group(1) : "file") + ", " + body.length + " bytes");
+    }
+
+    // ---------- Replies ----------
+
+    private record Reply(int status, byte[] body) {}
+
+    private static Reply json(PetstoreData.Doc doc) { return new Reply(HttpStatusCode.OK.getStatusCode(), doc.json()); }
+
+    private static Reply json(JsonNode node) {
+        return new Reply(HttpStatusCode.OK.getStatusCode(), JsonHelper.toJson(node).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Reply found(PetstoreData.Doc doc, String notFoundMessage) {
+        return doc == null ? message(HttpStatusCode.NOT_FOUND, "error", notFoundMessage) : json(doc);
+    }
+
+    private static Reply message(HttpStatusCode status, String type, String message) {
+        ObjectNode body = NODES.objectNode()
+                .put("code", type.equals("error") ? 1 : status.getStatusCode())
+                .put("type", type)
+                .put("message", message);
+        return new Reply(status.getStatusCode(), JsonHelper.toJson(body).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Reply empty(HttpStatusCode status) { return new Reply(status.getStatusCode(), new byte[0]); }
+
+    private static Reply notFound() { return message(HttpStatusCode.NOT_FOUND, "unknown", "not found"); }
+
+    private static Reply notAllowed() { return empty(HttpStatusCode.METHOD_NOT_ALLOWED); }
+
+    private static void send(HttpExchange exchange, Reply reply) throws IOException {
+        if (reply.body().length == 0) {
+            exchange.sendResponseHeaders(reply.status(), -1);
+            return;
+        }
+        exchange.getResponseHeaders().set(HttpHeader.CONTENT_TYPE.getKey(), MediaType.APPLICATION_JSON.getValue());
+        exchange.sendResponseHeaders(reply.status(), reply.body().length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(reply.body());
+        }
+    }
+
+    // ---------- Request parsing ----------
+
+    private record Request(String method, String[] path, Map<String, List<String>> query, byte[] body) {
+        JsonNode json() { return JsonHelper.parse(new String(body, StandardCharsets.UTF_8)); }
+
+        ObjectNode object() { return PetstoreStub.object(json()); }
+    }
+
+    private static ObjectNode object(JsonNode node) {
+        if (node instanceof ObjectNode object) return object;
+        throw new IllegalArgumentException("Expected a JSON object");
+    }
+
+    private static long id(String segment) {
+        try {
+            return Long.parseLong(segment);
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("Invalid ID supplied", exception);
+        }
+    }
+
+    private static String[] segments(String rawPath) {
+        return Arrays.stream(rawPath.split("/"))
+                .filter(segment -> !segment.isEmpty())
+                .map(segment -> URLDecoder.decode(segment.replace("+", "%2B"), StandardCharsets.UTF_8))
+                .toArray(String[]::new);
+    }
+
+    /** Query strings and url-encoded form bodies. */
+    private static Map<String, List<String>> parseForm(String raw) {
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        if (raw == null || raw.isEmpty()) return values;
+        for (String pair : raw.split("&")) {
+            int equals = pair.indexOf('=');
+            String key = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+            String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            values.computeIfAbsent(key, ignored -> new ArrayList<>()).add(value);
+        }
+        return values;
+    }
+
+    private static String first(Map<String, List<String>> values, String key) {
+        List<String> list = values.get(key);
+        return list == null || list.isEmpty() ? null : list.get(0);
+    }
+}
@@ -1,19 +1,27 @@
 package smokeTests.orders;
 
 import api.steps.OrderSteps;
-import com.github.javafaker.Faker;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import utils.base.BaseApiTest;
 import utils.constants.TestData;
 import utils.enums.HttpStatusCode;
 import utils.enums.OrderStatus;
+import utils.enums.PetStatus;
 
+import static core.TestStepLogger.logPreConditionStep;
 import static core.TestStepLogger.logStep;
 
 public class OrderFlowTest extends BaseApiTest {
     private final OrderSteps orderSteps = new OrderSteps();
-    private final Faker faker = new Faker();
+    private Long orderedPetId;
+
+    @BeforeClass
+    public void createOrderedPet() {
+        logPreConditionStep("Create the Pet the orders refer to");
+        orderedPetId = fixtures.pets(1, PetStatus.available).get(0).getId();
+    }
 
     @DataProvider(name = "orderQuantities")
     public Object[][] orderQuantities() {
@@ -28,7 +36,7 @@ public class OrderFlowTest extends BaseApiTest {
 
     @DataProvider(name = "nonExistingOrderIds")
     public Object[][] nonExistingOrderIds() {
-        long base = System.currentTimeMillis();
+        long base = providerData("nonExistingOrderIds").nextId();
         return new Object[][]{
                 { base + 999_001 }, { base + 999_002 }, { base + 999_003 }
         };
@@ -42,10 +50,10 @@ public class OrderFlowTest extends BaseApiTest {
 
     @Test(dataProvider = "orderQuantities")
     public void orderCrudWithQuantity(Integer quantity) {
-        Long orderId = System.currentTimeMillis();
-        Long petId = 1L; // could create a pet and use its id
+        Long orderId = data().nextId();
+        Long petId = orderedPetId;
 
-        String shipDateIso = java.time.OffsetDateTime.now().toString();
+        String shipDateIso = data().now().toString();
         logStep("Create a new Order");
         orderSteps.placeOrder(orderId, petId, quantity, shipDateIso, OrderStatus.placed, true);
 
@@ -58,10 +66,10 @@ public class OrderFlowTest extends BaseApiTest {
 
     @Test
     public void orderCrudFlow() {
-        Long orderId = System.currentTimeMillis();
-        Long petId = 1L; // or create a pet and reuse its id
-        Integer quantity = faker.number().numberBetween(TestData.DEFAULT_MIN_QTY, TestData.DEFAULT_MAX_QTY);
-        String shipDateIso = java.time.OffsetDateTime.now().toString();
+        Long orderId = data().nextId();
+        Long petId = orderedPetId;
+        Integer quantity = data().faker().number().numberBetween(TestData.DEFAULT_MIN_QTY, TestData.DEFAULT_MAX_QTY);
+        String shipDateIso = data().now().toString();
 
         logStep("Create a new Order");
         orderSteps.placeOrder(orderId, petId, quantity, shipDateIso, OrderStatus.placed, true);
@@ -0,0 +1,67 @@
+package smokeTests.pets;
+
+import api.pojo.pet.Category;
+import api.pojo.pet.Pet;
+import api.pojo.pet.Tag;
+import api.steps.PetSteps;
+import org.testng.annotations.Test;
+import utils.base.BaseApiTest;
+import utils.constants.TestData;
+import utils.enums.ApiPath;
+import utils.enums.HttpStatusCode;
+import utils.enums.PetStatus;
+import utils.helpers.TestDataSource;
+import utils.request.http.Cassette;
+import utils.request.http.HttpRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static core.TestStepLogger.logStep;
+import static org.testng.Assert.assertEquals;
+
+/** Records a Pet flow to a cassette of its own, then replays it after the Pet is gone from the Petstore. */
+public class PetCassetteFlowTest extends BaseApiTest {
+
+    @Test
+    public void petFlowRecordedThenReplayed() throws IOException {
+        Path file = Files.createTempFile("pet-flow-", ".cassette");
+        file.toFile().deleteOnExit();
+
+        logStep("RECORD the Pet flow");
+        Pet recorded;
+        try (Cassette cassette = Cassette.open(Cassette.Mode.RECORD, file)) {
+            recorded = petCrudFlow(new PetSteps(new HttpRequest(cassette)));
+        }
+
+        logStep("The Pet is deleted on the Petstore");
+        int liveStatus = new HttpRequest(Cassette.open(Cassette.Mode.OFF, file))
+                .getRaw(null, ApiPath.PET_ID, null, String.valueOf(recorded.getId())).statusCode();
+        assertEquals(liveStatus, HttpStatusCode.NOT_FOUND.getStatusCode());
+
+        logStep("REPLAY the Pet flow: every exchange, the GET included, comes from the cassette");
+        Pet replayed;
+        try (Cassette cassette = Cassette.open(Cassette.Mode.REPLAY, file)) {
+            replayed = petCrudFlow(new PetSteps(new HttpRequest(cassette)));
+        }
+        assertEquals(replayed, recorded);
+    }
+
+    /** Seeded whatever API_CASSETTE_MODE is: both runs must send the same requests. */
+    private static Pet petCrudFlow(PetSteps petSteps) {
+        TestDataSource data = TestDataSource.seeded(PetCassetteFlowTest.class.getName());
+        long petId = data.nextId();
+        Category category = Category.builder().id(TestData.DEFAULT_CATEGORY_ID).name(TestData.DEFAULT_CATEGORY_NAME).build();
+        String petName = data.faker().dog().name();
+        List<String> photoUrls = List.of(TestData.DEFAULT_PHOTO_BASE + petId);
+        List<Tag> tags = List.of(Tag.builder().id(1L).name("cute").build());
+
+        petSteps.createPet(petId, category, petName, photoUrls, tags, PetStatus.available);
+        petSteps.getPetById(petId);
+        Pet updated = petSteps.updatePet(petId, category, petName, photoUrls, tags, PetStatus.sold);
+        petSteps.deletePet(petId);
+        return updated;
+    }
+}
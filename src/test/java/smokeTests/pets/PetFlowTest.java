@@ -1,28 +1,41 @@
 package smokeTests.pets;
 
 import api.pojo.pet.Category;
+import api.pojo.pet.Pet;
 import api.pojo.pet.Tag;
 import api.steps.PetSteps;
-import com.github.javafaker.Faker;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import utils.base.BaseApiTest;
 import utils.constants.TestData;
 import utils.enums.PetStatus;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
+import static core.TestStepLogger.logPreConditionStep;
 import static core.TestStepLogger.logStep;
 
 public class PetFlowTest extends BaseApiTest {
     private final PetSteps petSteps = new PetSteps();
-    private final Faker faker = new Faker();
+    private List<Pet> lookupPets;
+
+    @BeforeClass
+    public void createLookupPets() {
+        logPreConditionStep("Create Pets for lookup flows");
+        lookupPets = fixtures.pets(2, PetStatus.available);
+    }
 
     @Test
     public void petCrudFlow() {
-        Long petId = System.currentTimeMillis();
+        Long petId = data().nextId();
         Category category = Category.builder().id(TestData.DEFAULT_CATEGORY_ID).name(TestData.DEFAULT_CATEGORY_NAME).build();
-        String petName = faker.dog().name();
+        String petName = data().faker().dog().name();
         List<String> photoUrls = List.of(TestData.DEFAULT_PHOTO_BASE + petId);
         var tags = List.of(Tag.builder().id(1L).name("cute").build());
 
@@ -39,6 +52,37 @@ public class PetFlowTest extends BaseApiTest {
         petSteps.deletePet(petId);
     }
 
+    @Test
+    public void petParallelLookupFlow() {
+        logStep("Get both fixture Pets by Id in parallel");
+        petSteps.getPetsByIds(lookupPets.stream().map(Pet::getId).toList());
+    }
+
+    @Test
+    public void findPetsByStatusFlow() {
+        logStep("Find Pets by status (streamed response)");
+        for (PetStatus status : PetStatus.values()) {
+            petSteps.findPetsByStatus(status);
+        }
+    }
+
+    @Test
+    public void petImageUploadFlow() throws IOException {
+        logPreConditionStep("Write images to upload");
+        // same file names every run: they are part of the upload's cassette key
+        Path directory = Files.createTempDirectory("pet-images-");
+        directory.toFile().deleteOnExit();
+        List<File> images = new ArrayList<>();
+        for (int index = 0; index < 3; index++) {
+            Path image = Files.write(directory.resolve("pet-image-" + index + ".png"), new byte[64 * 1024 * (index + 1)]);
+            image.toFile().deleteOnExit();
+            images.add(image.toFile());
+        }
+
+        logStep("Upload the images to a fixture Pet");
+        petSteps.uploadImages(lookupPets.get(0).getId(), images);
+    }
+
     @DataProvider(name = "petStatusPairs")
     public Object[][] petStatusPairs() {
         return new Object[][]{
@@ -50,12 +94,12 @@ public class PetFlowTest extends BaseApiTest {
 
     @Test(dataProvider = "petStatusPairs")
     public void petStatusTransitionFlow(PetStatus initialStatus, PetStatus finalStatus) {
-        Long petId = System.currentTimeMillis();
+        Long petId = data().nextId();
         Category category = Category.builder()
                 .id(TestData.DEFAULT_CATEGORY_ID)
                 .name(TestData.DEFAULT_CATEGORY_NAME)
                 .build();
-        String petName = faker.dog().name();
+        String petName = data().faker().dog().name();
         List<String> photoUrls = List.of(TestData.DEFAULT_PHOTO_BASE + petId);
         List<Tag> tags = List.of(Tag.builder().id(1L).name("cute").build());
 
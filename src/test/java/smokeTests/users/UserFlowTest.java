@@ -1,5 +1,7 @@
 package smokeTests.users;
 
+import api.builder.user.UserBuilder;
+import api.pojo.user.User;
 import api.steps.UserSteps;
 import com.github.javafaker.Faker;
 import org.testng.annotations.DataProvider;
@@ -7,11 +9,13 @@ import org.testng.annotations.Test;
 import utils.base.BaseApiTest;
 import utils.enums.HttpStatusCode;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static core.TestStepLogger.logStep;
 
 public class UserFlowTest extends BaseApiTest {
     private final UserSteps userSteps = new UserSteps();
-    private final Faker faker = new Faker();
 
     @DataProvider(name = "userProfiles")
     public Object[][] userProfiles() {
@@ -24,7 +28,7 @@ public class UserFlowTest extends BaseApiTest {
 
     @DataProvider(name = "unknownUsernames")
     public Object[][] unknownUsernames() {
-        long suffix = System.currentTimeMillis();
+        long suffix = providerData("unknownUsernames").nextId();
         return new Object[][] {
                 { "nonexistent_" + suffix + "_a" },
                 { "nonexistent_" + suffix + "_b" },
@@ -34,6 +38,7 @@ public class UserFlowTest extends BaseApiTest {
 
     @Test(dataProvider = "userProfiles")
     public void userCrudFlowWithProfiles(String roleSlug) {
+        Faker faker = data().faker();
         String firstName = faker.name().firstName();
         String lastName = faker.name().lastName();
         String emailAddress = faker.internet().emailAddress();
@@ -43,7 +48,7 @@ public class UserFlowTest extends BaseApiTest {
         logStep("Create user (initial create without password)");
         userSteps.createUser(firstName, lastName, emailAddress, usernameFromJob);
 
-        Long userId = System.currentTimeMillis();
+        Long userId = data().nextId();
         String newPassword = faker.internet().password(8, 12);
         String phoneNumber = faker.phoneNumber().cellPhone();
         Integer userStatus = 1;
@@ -67,13 +72,14 @@ public class UserFlowTest extends BaseApiTest {
     @Test(dataProvider = "userProfiles")
     public void loginLogoutFlow(String roleSlug) {
         // generate test data
+        Faker faker = data().faker();
         String firstName = faker.name().firstName();
         String lastName = faker.name().lastName();
         String emailAddress = faker.internet().emailAddress();
         String usernameFromRole = (roleSlug + "_" + faker.number().numberBetween(1000, 9999)).toLowerCase();
         String password = faker.internet().password(8, 12);
         String phoneNumber = faker.phoneNumber().cellPhone();
-        Long userId = System.currentTimeMillis();
+        Long userId = data().nextId();
         Integer userStatus = 1;
 
         logStep("Create user (initial create without password)");
@@ -94,6 +100,7 @@ public class UserFlowTest extends BaseApiTest {
 
     @Test
     public void userCrudFlow() {
+        Faker faker = data().faker();
         String firstName = faker.name().firstName();
         String lastName = faker.name().lastName();
         String emailAddress = faker.internet().emailAddress();
@@ -102,7 +109,7 @@ public class UserFlowTest extends BaseApiTest {
         logStep("Create user (initial create without password)");
         userSteps.createUser(firstName, lastName, emailAddress, usernameFromJob);
 
-        Long userId = System.currentTimeMillis();
+        Long userId = data().nextId();
         String newPassword = faker.internet().password(8, 12);
         String phoneNumber = faker.phoneNumber().cellPhone();
         Integer userStatus = 1;
@@ -116,4 +123,27 @@ public class UserFlowTest extends BaseApiTest {
         logStep("Delete current user");
         userSteps.deleteUser(usernameFromJob);
     }
+
+    @Test
+    public void bulkCreateUsersFlow() {
+        Faker faker = data().faker();
+        long suffix = data().nextId();
+        List<User> users = new ArrayList<>();
+        for (int index = 0; index < 5; index++) {
+            users.add(UserBuilder.buildNewUser(faker.name().firstName(), faker.name().lastName(),
+                    faker.internet().emailAddress(), "bulk_" + suffix + "_" + index));
+        }
+
+        logStep("Create first two users via createWithArray");
+        userSteps.createUsersWithArray(users.subList(0, 2));
+
+        logStep("Seed the rest via createWithList in chunks of two");
+        userSteps.seedUsers(users.subList(2, users.size()), 2);
+
+        logStep("Get and delete every created user");
+        for (User user : users) {
+            userSteps.getUser(user.getUsername());
+            userSteps.deleteUser(user.getUsername());
+        }
+    }
 }
@@ -0,0 +1,81 @@
+package unitTests.helpers;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import utils.request.path.PathTemplate;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+public class PathTemplateTest {
+    private final PathTemplate petId = PathTemplate.compile("/pet/%s");
+
+    @DataProvider(name = "encodedParams")
+    public Object[][] encodedParams() {
+        return new Object[][]{
+                { "letters, digits and unreserved", "Rex-1.0_a~", "/pet/Rex-1.0_a~" },
+                { "sub-delims stay, '$' included", "a$b&c=d+e!'()*,;", "/pet/a$b&c=d+e!'()*,;" },
+                { "':' and '@' stay", "user@host:1", "/pet/user@host:1" },
+                { "backslash", "a\\b", "/pet/a%5Cb" },
+                { "slash cannot add a segment", "1/../../user", "/pet/1%2F..%2F..%2Fuser" },
+                { "question mark cannot start a query", "1?status=sold", "/pet/1%3Fstatus=sold" },
+                { "hash cannot start a fragment", "1#top", "/pet/1%23top" },
+                { "space", "big dog", "/pet/big%20dog" },
+                { "percent is encoded, not taken as an escape", "100%25", "/pet/100%2525" },
+                { "placeholder in a param is not expanded", "%s", "/pet/%25s" },
+                { "non-ASCII as UTF-8 octets", "café", "/pet/caf%C3%A9" },
+                { "surrogate pair as one code point", "dog🐶", "/pet/dog%F0%9F%90%B6" },
+                { "empty param", "", "/pet/" }
+        };
+    }
+
+    @DataProvider(name = "wrongParams")
+    public Object[][] wrongParams() {
+        return new Object[][]{
+                { "no params", new String[0], "expects 1 path param(s), got 0" },
+                { "too many params", new String[]{ "1", "2" }, "expects 1 path param(s), got 2" },
+                { "null array", null, "expects 1 path param(s), got 0" },
+                { "null param", new String[]{ null }, "path param #0 is null" }
+        };
+    }
+
+    @Test(dataProvider = "encodedParams")
+    public void encodesParamAsOneSegment(String description, String param, String expected) {
+        assertEquals(petId.expand(param), expected, description);
+    }
+
+    @Test(dataProvider = "wrongParams")
+    public void rejectsWrongParams(String description, String[] params, String message) {
+        IllegalArgumentException exception = expectThrows(IllegalArgumentException.class, () -> petId.expand(params));
+        assertTrue(exception.getMessage().contains(message), description + ": " + exception.getMessage());
+    }
+
+    @Test
+    public void fillsPlaceholdersInOrder() {
+        PathTemplate template = PathTemplate.compile("/user/%s/pet/%s/image");
+
+        assertEquals(template.placeholderCount(), 2);
+        assertEquals(template.expand("jane doe", "7/8"), "/user/jane%20doe/pet/7%2F8/image");
+    }
+
+    @Test
+    public void templateWithoutPlaceholdersIsReturnedAsIs() {
+        PathTemplate template = PathTemplate.compile("/store/inventory");
+
+        assertSame(template.expand(), template.template());
+        assertEquals(expectThrows(IllegalArgumentException.class, () -> template.expand("1")).getMessage(),
+                "Path '/store/inventory' expects 0 path param(s), got 1");
+    }
+
+    @Test
+    public void ofReturnsTheCachedTemplate() {
+        assertSame(PathTemplate.of("/pet/%s/uploadImage"), PathTemplate.of("/pet/%s/uploadImage"));
+    }
+
+    @Test
+    public void nullTemplateIsRejected() {
+        expectThrows(IllegalArgumentException.class, () -> PathTemplate.compile(null));
+    }
+}
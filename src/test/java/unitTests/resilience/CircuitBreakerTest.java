@@ -0,0 +1,250 @@
+package unitTests.resilience;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import utils.enums.ApiPath;
+import utils.enums.HttpMethod;
+import utils.request.RequestObserver;
+import utils.request.RequestObservers;
+import utils.request.exception.CircuitOpenException;
+import utils.request.exception.HttpsException;
+import utils.request.path.IPath;
+import utils.request.resilience.CircuitBreaker;
+import utils.request.resilience.CircuitBreaker.State;
+import utils.request.resilience.CircuitBreakerSettings;
+import utils.request.resilience.GuardedCall;
+import utils.request.resilience.RequestGovernor;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * State transitions of {@link CircuitBreaker}. An open duration of zero lets the next permission request move an
+ * OPEN breaker to HALF_OPEN without waiting; durations passed to onResponse/onError stand in for real calls.
+ * The {@link GuardedCall} tests check that every way a trial call can end gives its HALF_OPEN slot back.
+ */
+public class CircuitBreakerTest {
+
+    private static final long FAST_NANOS = Duration.ofMillis(1).toNanos();
+    private static final long SLOW_NANOS = Duration.ofSeconds(2).toNanos();
+    /** No limits are configured for PET_ID, so permits are granted at once. */
+    private static final RequestGovernor GOVERNOR = RequestGovernor.forPath(ApiPath.PET_ID);
+
+    /** Transitions by breaker name: test methods may run in parallel, each on a breaker of its own. */
+    private final Map<String, List<String>> transitions = new ConcurrentHashMap<>();
+    private final RequestObserver observer = new RequestObserver() {
+        @Override
+        public void onExchange(HttpMethod method, IPath path, int statusCode, long durationNanos, int attempt) { }
+
+        @Override
+        public void onBreakerTransition(String breaker, State from, State to) {
+            transitions.computeIfAbsent(breaker, ignored -> new CopyOnWriteArrayList<>()).add(from + "->" + to);
+        }
+    };
+
+    @BeforeClass
+    public void registerObserver() {
+        RequestObservers.register(observer);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void unregisterObserver() {
+        RequestObservers.unregister(observer);
+    }
+
+    @Test
+    public void fullCycleClosedOpenHalfOpenClosed() {
+        CircuitBreaker breaker = breaker("full cycle", settings().openDuration(Duration.ZERO).halfOpenCalls(2));
+
+        breaker.onResponse(200, FAST_NANOS);
+        breaker.onResponse(500, FAST_NANOS);
+        breaker.onResponse(200, FAST_NANOS);
+        assertEquals(breaker.state(), State.CLOSED, "3 of 4 minimum calls recorded");
+        breaker.onError(FAST_NANOS);
+        assertEquals(breaker.state(), State.OPEN, "2 of 4 calls failed, 50% threshold");
+
+        breaker.acquirePermission();
+        assertEquals(breaker.state(), State.HALF_OPEN);
+        breaker.acquirePermission();
+        assertThrows(CircuitOpenException.class, breaker::acquirePermission);
+
+        breaker.onResponse(200, FAST_NANOS);
+        assertEquals(breaker.state(), State.HALF_OPEN, "1 of 2 trial calls succeeded");
+        breaker.onResponse(204, FAST_NANOS);
+        assertEquals(breaker.state(), State.CLOSED);
+
+        breaker.onResponse(500, FAST_NANOS);
+        breaker.onResponse(500, FAST_NANOS);
+        assertEquals(breaker.state(), State.CLOSED, "window starts empty after closing");
+        assertEquals(transitions(breaker), List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"));
+    }
+
+    @Test
+    public void openFailsFastUntilOpenDurationHasPassed() {
+        CircuitBreaker breaker = breaker("fails fast", settings().openDuration(Duration.ofHours(1)));
+        trip(breaker);
+
+        CircuitOpenException exception = expectThrows(CircuitOpenException.class, breaker::acquirePermission);
+        assertEquals(breaker.state(), State.OPEN);
+        assertTrue(exception.getMessage().contains("is OPEN"), exception.getMessage());
+    }
+
+    @Test
+    public void failedTrialCallOpensAgain() {
+        CircuitBreaker breaker = breaker("failed trial", settings().openDuration(Duration.ZERO).halfOpenCalls(2));
+        trip(breaker);
+
+        breaker.acquirePermission();
+        breaker.onResponse(200, FAST_NANOS);
+        breaker.acquirePermission();
+        breaker.onResponse(503, FAST_NANOS);
+
+        assertEquals(breaker.state(), State.OPEN);
+        assertEquals(transitions(breaker), List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->OPEN"));
+    }
+
+    @Test
+    public void slowTrialCallOpensAgain() {
+        CircuitBreaker breaker = breaker("slow trial", settings().openDuration(Duration.ZERO));
+        trip(breaker);
+
+        breaker.acquirePermission();
+        breaker.onResponse(200, SLOW_NANOS);
+
+        assertEquals(breaker.state(), State.OPEN);
+    }
+
+    @Test
+    public void slowCallRateOpens() {
+        CircuitBreaker breaker = breaker("slow rate", settings().slowCallRateThreshold(75));
+
+        breaker.onResponse(200, SLOW_NANOS);
+        breaker.onResponse(200, SLOW_NANOS);
+        breaker.onResponse(200, FAST_NANOS);
+        breaker.onResponse(200, SLOW_NANOS);
+
+        assertEquals(breaker.state(), State.OPEN);
+    }
+
+    @Test
+    public void tooManyRequestsCountsAsFailureButClientErrorsDoNot() {
+        CircuitBreaker clientErrors = breaker("404", settings());
+        for (int call = 0; call < 4; call++) clientErrors.onResponse(404, FAST_NANOS);
+        assertEquals(clientErrors.state(), State.CLOSED);
+
+        CircuitBreaker throttled = breaker("429", settings());
+        for (int call = 0; call < 4; call++) throttled.onResponse(429, FAST_NANOS);
+        assertEquals(throttled.state(), State.OPEN);
+    }
+
+    @Test
+    public void oldOutcomesLeaveTheWindow() {
+        CircuitBreaker breaker = breaker("window", settings());
+
+        breaker.onResponse(500, FAST_NANOS);
+        for (int call = 0; call < 6; call++) breaker.onResponse(200, FAST_NANOS);
+        breaker.onResponse(500, FAST_NANOS);
+        assertEquals(breaker.state(), State.CLOSED, "first failure left the window of 4, 1 of 4 failed");
+        breaker.onResponse(500, FAST_NANOS);
+        assertEquals(breaker.state(), State.OPEN, "2 of the last 4 failed");
+    }
+
+    @Test
+    public void disabledBreakerNeverOpens() {
+        CircuitBreaker breaker = breaker("disabled", settings().enabled(false));
+        trip(breaker);
+
+        breaker.acquirePermission();
+        assertEquals(breaker.state(), State.CLOSED);
+        assertEquals(transitions(breaker), List.of());
+    }
+
+    @Test
+    public void asyncCallThrowingBeforeItsFutureEndsTheTrial() {
+        CircuitBreaker breaker = breaker("async throw", settings().openDuration(Duration.ZERO));
+        trip(breaker);
+
+        CompletableFuture<GuardedCall.Timed<Integer>> call = GuardedCall.callAsync(GOVERNOR, breaker, () -> {
+            throw new HttpsException("No recorded exchange");
+        }, Integer::intValue);
+
+        CompletionException failure = expectThrows(CompletionException.class, call::join);
+        assertTrue(failure.getCause() instanceof HttpsException, String.valueOf(failure.getCause()));
+        assertEquals(breaker.state(), State.OPEN, "trial call failed, not left in flight");
+        breaker.acquirePermission();
+        assertEquals(breaker.state(), State.HALF_OPEN, "next trial may start");
+    }
+
+    @Test
+    public void asyncCallFailingItsFutureEndsTheTrial() {
+        CircuitBreaker breaker = breaker("async failure", settings().openDuration(Duration.ZERO));
+        trip(breaker);
+
+        CompletableFuture<GuardedCall.Timed<Integer>> call = GuardedCall.callAsync(GOVERNOR, breaker,
+                () -> CompletableFuture.failedFuture(new IOException("Connection reset")), Integer::intValue);
+
+        expectThrows(CompletionException.class, call::join);
+        assertEquals(breaker.state(), State.OPEN);
+        assertEquals(transitions(breaker), List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->OPEN"));
+    }
+
+    @Test
+    public void asyncTrialResponseClosesAndIsTimed() {
+        CircuitBreaker breaker = breaker("async response", settings().openDuration(Duration.ZERO));
+        trip(breaker);
+
+        GuardedCall.Timed<Integer> timed = GuardedCall.callAsync(GOVERNOR, breaker,
+                () -> CompletableFuture.completedFuture(200), Integer::intValue).join();
+
+        assertEquals(timed.value(), Integer.valueOf(200));
+        assertTrue(timed.durationNanos() >= 0);
+        assertEquals(breaker.state(), State.CLOSED);
+    }
+
+    @Test
+    public void blockingCallThrowingEndsTheTrial() {
+        CircuitBreaker breaker = breaker("blocking throw", settings().openDuration(Duration.ZERO));
+        trip(breaker);
+
+        expectThrows(HttpsException.class, () -> GuardedCall.call(GOVERNOR, breaker, () -> {
+            throw new HttpsException("No recorded exchange");
+        }, Integer::intValue));
+
+        assertEquals(breaker.state(), State.OPEN);
+    }
+
+    /** Window of 4 calls, all counted; opens at 50% failures or 100% slow calls (slow: 1 second or more). */
+    private static CircuitBreakerSettings.CircuitBreakerSettingsBuilder settings() {
+        return CircuitBreakerSettings.builder()
+                .windowSize(4)
+                .minimumCalls(4)
+                .failureRateThreshold(50)
+                .slowCallDuration(Duration.ofSeconds(1))
+                .slowCallRateThreshold(100)
+                .halfOpenCalls(1);
+    }
+
+    private static CircuitBreaker breaker(String name, CircuitBreakerSettings.CircuitBreakerSettingsBuilder settings) {
+        return new CircuitBreaker("unit-test " + name, settings.build());
+    }
+
+    private List<String> transitions(CircuitBreaker breaker) {
+        return transitions.getOrDefault(breaker.name(), List.of());
+    }
+
+    private static void trip(CircuitBreaker breaker) {
+        for (int call = 0; call < 4; call++) breaker.onError(FAST_NANOS);
+    }
+}
@@ -0,0 +1,183 @@
+package unitTests.resilience;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import utils.request.resilience.RetryBudget;
+import utils.request.resilience.RetryPolicy;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Set;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * {@link RetryPolicy} and {@link RetryBudget}. Every policy gets a budget of its own, so nothing here draws from
+ * (or is limited by) the suite budget the flows use.
+ */
+public class RetryPolicyTest {
+
+    private static final int SAMPLES = 200;
+
+    @DataProvider(name = "retryAfterHeaders")
+    public Object[][] retryAfterHeaders() {
+        return new Object[][]{
+                { "delta-seconds", "3", 3000L },
+                { "delta-seconds with whitespace", " 120 ", 120_000L },
+                { "zero seconds", "0", 0L },
+                { "negative seconds clamp to zero", "-5", 0L },
+                { "HTTP-date in the past clamps to zero", "Tue, 15 Nov 1994 08:12:31 GMT", 0L },
+                { "absent", null, -1L },
+                { "blank", "  ", -1L },
+                { "garbage", "soon", -1L },
+                { "fractional seconds are not delta-seconds", "1.5", -1L },
+                { "date in another format", "1994-11-15T08:12:31Z", -1L }
+        };
+    }
+
+    @Test(dataProvider = "retryAfterHeaders")
+    public void parsesRetryAfter(String description, String header, long expectedMillis) {
+        assertEquals(RetryPolicy.parseRetryAfterMillis(header), expectedMillis, description);
+    }
+
+    @Test
+    public void parsesRetryAfterHttpDateInTheFuture() {
+        String inThirtySeconds = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(30));
+
+        long millis = RetryPolicy.parseRetryAfterMillis(inThirtySeconds);
+
+        assertTrue(millis > 28_000 && millis <= 30_000, inThirtySeconds + " -> " + millis);
+    }
+
+    @Test
+    public void backoffDoublesUpToTheCap() {
+        RetryPolicy policy = policy(5).baseDelay(Duration.ofMillis(100)).maxDelay(Duration.ofMillis(300)).build();
+        long[] caps = { 100, 200, 300, 300, 300 };
+
+        for (int retry = 1; retry <= caps.length; retry++) {
+            long max = 0;
+            for (int sample = 0; sample < SAMPLES; sample++) {
+                long delay = policy.jitteredBackoffMillis(retry);
+                assertTrue(delay >= 0 && delay <= caps[retry - 1], "retry " + retry + " -> " + delay);
+                max = Math.max(max, delay);
+            }
+            assertTrue(max > caps[retry - 1] / 2, "retry " + retry + ": jitter spans the range, max " + max);
+        }
+        assertTrue(policy.jitteredBackoffMillis(64) <= 300, "shift is bounded, no overflow past the cap");
+    }
+
+    @Test
+    public void zeroBaseDelayNeverWaits() {
+        RetryPolicy policy = policy(3).baseDelay(Duration.ZERO).build();
+
+        assertEquals(policy.jitteredBackoffMillis(1), 0);
+        assertEquals(policy.jitteredBackoffMillis(3), 0);
+    }
+
+    @Test
+    public void retriesRetryableStatusesUntilMaxRetries() {
+        RetryPolicy.Attempts attempts = policy(2).baseDelay(Duration.ZERO).build().start();
+
+        assertEquals(attempts.nextDelayMillis(400, null), -1, "400 is not retryable");
+        assertEquals(attempts.nextDelayMillis(500, null), 0);
+        assertEquals(attempts.nextDelayMillis(502, null), 0);
+        assertEquals(attempts.attempt(), 3);
+        assertEquals(attempts.nextDelayMillis(500, null), -1, "2 retries used");
+    }
+
+    @Test
+    public void retryAfterReplacesBackoffUnlessDisabled() {
+        RetryPolicy honoured = policy(1).baseDelay(Duration.ZERO).build();
+        RetryPolicy ignored = honoured.toBuilder().respectRetryAfter(false).build();
+
+        assertEquals(honoured.start().nextDelayMillis(429, "2"), 2000);
+        assertEquals(ignored.start().nextDelayMillis(429, "2"), 0);
+        assertEquals(honoured.start().nextDelayMillis(429, "garbage"), 0, "falls back to backoff");
+    }
+
+    @Test
+    public void noRetryThatWouldEndPastTheDeadline() {
+        RetryPolicy policy = policy(3).baseDelay(Duration.ZERO).deadline(Duration.ofSeconds(1)).build();
+
+        assertEquals(policy.start().nextDelayMillis(500, "2"), -1, "2s Retry-After exceeds the 1s deadline");
+        RetryPolicy.Attempts attempts = policy.start();
+        assertEquals(attempts.nextDelayMillis(500, "0"), 0);
+        assertEquals(attempts.attempt(), 2);
+    }
+
+    @Test
+    public void budgetAllowsMinimumPlusRatioOfRequests() {
+        RetryBudget budget = new RetryBudget(0.5, 1);
+        for (int request = 0; request < 4; request++) budget.onRequest();
+
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire(), "1 + 0.5 * 4 = 3 retries");
+        assertEquals(budget.retriesUsed(), 3);
+        assertEquals(budget.retriesDenied(), 1);
+
+        budget.onRequest();
+        budget.onRequest();
+        assertTrue(budget.tryAcquire(), "more requests, more retries");
+
+        budget.reset();
+        assertEquals(budget.requests(), 0);
+        assertEquals(budget.retriesUsed(), 0);
+        assertEquals(budget.retriesDenied(), 0);
+    }
+
+    @Test
+    public void exhaustedBudgetEndsRetriesOfEveryRequest() {
+        RetryBudget budget = new RetryBudget(0, 1);
+        RetryPolicy policy = policy(3).baseDelay(Duration.ZERO).budget(budget).build();
+        RetryPolicy.Attempts first = policy.start();
+        RetryPolicy.Attempts second = policy.start();
+
+        assertEquals(first.nextDelayMillis(500, null), 0);
+        assertEquals(second.nextDelayMillis(500, null), -1, "budget spent by the first request");
+        assertEquals(first.nextDelayMillis(500, null), -1);
+        assertEquals(budget.requests(), 2);
+        assertEquals(budget.retriesDenied(), 2);
+    }
+
+    @Test
+    public void overridesApplyPerPathOnTopOfDefaults() {
+        RetryPolicy defaults = policy(2).maxDelay(Duration.ofSeconds(7)).build();
+
+        Map<String, RetryPolicy> overrides = RetryPolicy.parseOverrides(
+                " PET_ID : maxRetries=4, baseDelayMs=500, statuses=404|409 ;USER_LOGIN:maxRetries=0;", defaults);
+
+        assertEquals(overrides.keySet(), Set.of("PET_ID", "USER_LOGIN"));
+        RetryPolicy petId = overrides.get("PET_ID");
+        assertEquals(petId.getMaxRetries(), 4);
+        assertEquals(petId.getBaseDelay(), Duration.ofMillis(500));
+        assertEquals(petId.getRetryableStatuses(), Set.of(404, 409));
+        assertEquals(petId.getMaxDelay(), Duration.ofSeconds(7), "not overridden, taken from the defaults");
+        assertEquals(overrides.get("USER_LOGIN").getMaxRetries(), 0);
+        assertEquals(overrides.get("USER_LOGIN").getRetryableStatuses(), defaults.getRetryableStatuses());
+        assertTrue(RetryPolicy.parseOverrides("", defaults).isEmpty());
+    }
+
+    @Test
+    public void malformedOverridesAreRejected() {
+        IllegalArgumentException unknownKey = expectThrows(IllegalArgumentException.class,
+                () -> RetryPolicy.parseOverrides("PET_ID:retries=3", RetryPolicy.defaults()));
+        assertTrue(unknownKey.getMessage().contains("unknown key 'retries'"), unknownKey.getMessage());
+
+        IllegalArgumentException noSettings = expectThrows(IllegalArgumentException.class,
+                () -> RetryPolicy.parseOverrides("PET_ID", RetryPolicy.defaults()));
+        assertTrue(noSettings.getMessage().startsWith("API_RETRY_OVERRIDES"), noSettings.getMessage());
+    }
+
+    /** A policy with a budget of its own that never runs out. */
+    private static RetryPolicy.RetryPolicyBuilder policy(int maxRetries) {
+        return RetryPolicy.builder().maxRetries(maxRetries).budget(new RetryBudget(1, Long.MAX_VALUE / 2));
+    }
+}